@@ -0,0 +1,184 @@
+package com.github.display4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * asynchronous front-end for {@link SSDisplay#display()}
+ *
+ * Frames are sent by a dedicated flush thread, so the render thread does not block
+ * for the bus transfer. Requests submitted while a flush is in progress are coalesced:
+ * all of them are completed by one following flush, which sends the newest buffer content.
+ * <br/>
+ * The display has to be triple buffered ({@link SSDisplay#setTripleBuffered(boolean)}): displayAsync()
+ * publishes the buffer as complete frame on the calling thread, so rendering can go on
+ * while the flush thread sends it without tearing. A single buffer would be drawn and sent
+ * at the same time - losing modifications made during the transfer.
+ *
+ * <pre>
+ * display.setTripleBuffered(true);
+ * AsyncDisplay asyncDisplay = new AsyncDisplay(display);
+ * display.setPixel(0, 0, true);
+ * asyncDisplay.displayAsync();
+ * ...
+ * asyncDisplay.shutdown();
+ * </pre>
+ */
+public class AsyncDisplay {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDisplay.class);
+
+    private final SSDisplay display;
+
+    private final Thread flushThread;
+
+    private final Object lock = new Object();
+
+    /**
+     * the request waiting for the next flush - null if none
+     */
+    private CompletableFuture<Void> pending;
+
+    private boolean running = true;
+
+    private long submitted;
+    private long coalesced;
+    private long flushed;
+
+    /**
+     * @throws IllegalArgumentException if the display is not triple buffered
+     */
+    public AsyncDisplay(SSDisplay display) {
+        if (!display.isTripleBuffered()) {
+            throw new IllegalArgumentException("display must be triple buffered");
+        }
+        this.display = display;
+
+        flushThread = new Thread(this::flushLoop, "display4j-flush-" + display.getClass().getSimpleName());
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /**
+     * request sending the buffer to the display
+     *
+     * @return completed after a flush started after this call has finished -
+     * completed exceptionally if the flush failed
+     */
+    public CompletableFuture<Void> displayAsync() {
+        display.publishFrame();
+        synchronized (lock) {
+            if (!running) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IllegalStateException("AsyncDisplay is shut down"));
+                return failed;
+            }
+
+            submitted++;
+            if (pending != null) {
+                // will be sent with the next flush anyway
+                coalesced++;
+                return pending;
+            }
+            pending = new CompletableFuture<>();
+            lock.notifyAll();
+            return pending;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            CompletableFuture<Void> request;
+            synchronized (lock) {
+                while (pending == null && running) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (pending == null) {
+                    // shut down and nothing left to send
+                    return;
+                }
+                request = pending;
+                pending = null;
+            }
+
+            try {
+                flush();
+                request.complete(null);
+            } catch (Exception e) {
+                logger.error("Exception on flush: {}", e.getMessage());
+                request.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * sends the frame - called on the flush thread
+     */
+    protected void flush() throws Exception {
+        display.flushFrame();
+        synchronized (lock) {
+            flushed++;
+        }
+    }
+
+    /**
+     * sends outstanding requests and stops the flush thread
+     * - does not shut down the display itself
+     */
+    public void shutdown() throws InterruptedException {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        flushThread.join();
+    }
+
+    public SSDisplay getDisplay() {
+        return display;
+    }
+
+    /**
+     * @return number of displayAsync() calls
+     */
+    public long getSubmitted() {
+        synchronized (lock) {
+            return submitted;
+        }
+    }
+
+    /**
+     * @return number of displayAsync() calls served by an already pending flush
+     */
+    public long getCoalesced() {
+        synchronized (lock) {
+            return coalesced;
+        }
+    }
+
+    /**
+     * @return number of flushes performed
+     */
+    public long getFlushed() {
+        synchronized (lock) {
+            return flushed;
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (lock) {
+            return "AsyncDisplay{" +
+                    "display=" + display +
+                    ", submitted=" + submitted +
+                    ", coalesced=" + coalesced +
+                    ", flushed=" + flushed +
+                    '}';
+        }
+    }
+}
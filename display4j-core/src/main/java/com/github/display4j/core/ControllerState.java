@@ -0,0 +1,148 @@
+package com.github.display4j.core;
+
+import java.util.Arrays;
+
+/**
+ * shadow of the controller registers last written - used to skip commands without effect
+ *
+ * All registers are unknown after construction and {@link #invalidate()} (f.e. after a reset),
+ * so the first write of every register is sent in any case.
+ * Values are recorded before the command is sent - the display invalidates the shadow if the
+ * write fails, so no register keeps a value the controller did not receive.
+ */
+public class ControllerState {
+    /**
+     * registers shadowed
+     */
+    public enum Register {
+        DISPLAY_ON,
+        CONTRAST,
+        INVERT,
+        OFFSET,
+        START_LINE,
+        SEGMENT_REMAP,
+        COM_SCAN,
+        /** SSD1327 remap configuration */
+        REMAP,
+        MEMORY_MODE,
+        /** start and end column of the address window */
+        COLUMN_WINDOW,
+        /** start and end page / row of the address window */
+        ROW_WINDOW,
+        SCROLL
+    }
+
+    /**
+     * value of a register not written since construction or {@link #invalidate()}
+     */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final Register[] REGISTERS = Register.values();
+
+    private final long[] values = new long[REGISTERS.length];
+
+    private long sentCommands;
+    private long elidedCommands;
+    private final long[] elided = new long[REGISTERS.length];
+
+    public ControllerState() {
+        invalidate();
+    }
+
+    /**
+     * records a register write
+     *
+     * @return false if the register holds the value already - the command can be skipped
+     */
+    public synchronized boolean update(Register register, int value) {
+        int index = register.ordinal();
+        if (values[index] == value) {
+            elidedCommands++;
+            elided[index]++;
+            return false;
+        }
+        values[index] = value;
+        sentCommands++;
+        return true;
+    }
+
+    /**
+     * records a write of a register pair (f.e. start and end address)
+     */
+    public boolean update(Register register, int first, int second) {
+        return update(register, pack(first, second));
+    }
+
+    /**
+     * records a value written without {@link #update(Register, int)} - f.e. by a startup sequence
+     * or before a restart
+     */
+    public synchronized void assume(Register register, long value) {
+        values[register.ordinal()] = value;
+    }
+
+    static int pack(int first, int second) {
+        return (first << 16) | (second & 0xFFFF);
+    }
+
+    /**
+     * forgets the register - the next write is sent in any case
+     */
+    public synchronized void invalidate(Register register) {
+        values[register.ordinal()] = UNKNOWN;
+    }
+
+    /**
+     * forgets all registers
+     */
+    public synchronized void invalidate() {
+        Arrays.fill(values, UNKNOWN);
+    }
+
+    /**
+     * @return the value last written - {@link #UNKNOWN} if not known
+     */
+    public synchronized long getValue(Register register) {
+        return values[register.ordinal()];
+    }
+
+    public synchronized boolean isKnown(Register register) {
+        return values[register.ordinal()] != UNKNOWN;
+    }
+
+    /**
+     * @return number of register writes sent
+     */
+    public synchronized long getSentCommands() {
+        return sentCommands;
+    }
+
+    /**
+     * @return number of register writes skipped because the value was in place already
+     */
+    public synchronized long getElidedCommands() {
+        return elidedCommands;
+    }
+
+    public synchronized long getElidedCommands(Register register) {
+        return elided[register.ordinal()];
+    }
+
+    public synchronized void resetCounters() {
+        sentCommands = 0;
+        elidedCommands = 0;
+        Arrays.fill(elided, 0);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("ControllerState{sent=").append(sentCommands)
+                .append(", elided=").append(elidedCommands);
+        for (Register register : REGISTERS) {
+            if (elided[register.ordinal()] > 0) {
+                sb.append(", ").append(register).append('=').append(elided[register.ordinal()]);
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,230 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.misc.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * several displays flushed together - in parallel if they use different connections
+ *
+ * Displays sharing a connection are flushed one after another on the same lane, the lanes run in parallel
+ * on a small executor. Without frame barrier every lane works off its frames on its own, so a fast
+ * display does not wait for a slow one. With frame barrier a frame is started on all lanes only after the
+ * previous frame has been sent to all displays, so the panels always show the same logical frame
+ * once a frame is complete.
+ * <br/>
+ * Like {@link AsyncDisplay}, buffers of triple buffered displays are published on the calling thread - other
+ * buffers must not be drawn to before the returned future has completed.
+ *
+ * <pre>
+ * DisplayGroup group = new DisplayGroup(spi0Display, spi1Display, i2cDisplay);
+ * group.setFrameBarrier(true);
+ * ...
+ * group.display();
+ * </pre>
+ */
+public class DisplayGroup {
+    /**
+     * upper limit of flush threads created by the group
+     */
+    public static final int MAX_THREADS = 4;
+
+    private final List<SSDisplay> displays;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    private final Map<SSDisplay, LatencyHistogram> flushLatencies = new IdentityHashMap<>();
+
+    private final LatencyHistogram frameLatency = new LatencyHistogram();
+
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+
+    private boolean frameBarrier;
+
+    private CompletableFuture<Void> lastFrame = CompletableFuture.completedFuture(null);
+
+    public DisplayGroup(SSDisplay... displays) {
+        this(null, displays);
+    }
+
+    /**
+     * @param executor runs the flushes - null to let the group create one thread per connection (at most {@link #MAX_THREADS})
+     */
+    public DisplayGroup(ExecutorService executor, SSDisplay... displays) {
+        this.displays = new ArrayList<>(Arrays.asList(displays));
+        for (SSDisplay display : displays) {
+            lane(display.getDspConn()).displays.add(display);
+            flushLatencies.put(display, new LatencyHistogram());
+        }
+
+        if (executor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.max(1, Math.min(lanes.size(), MAX_THREADS)), r -> {
+                Thread thread = new Thread(r, "display4j-group-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ownExecutor = true;
+        } else {
+            ownExecutor = false;
+        }
+        this.executor = executor;
+    }
+
+    private Lane lane(DisplayConnection dspConn) {
+        for (Lane lane : lanes) {
+            if (lane.dspConn == dspConn) {
+                return lane;
+            }
+        }
+        Lane lane = new Lane(dspConn);
+        lanes.add(lane);
+        return lane;
+    }
+
+    /**
+     * requests a flush of all displays
+     *
+     * @return completed when all displays have been sent the frame - completed exceptionally if any flush failed
+     */
+    public synchronized CompletableFuture<Void> displayAsync() {
+        long start = System.nanoTime();
+        for (SSDisplay display : displays) {
+            if (display.isTripleBuffered()) {
+                display.publishFrame();
+            }
+        }
+
+        CompletableFuture<?>[] flushes = new CompletableFuture<?>[lanes.size()];
+        for (int i = 0; i < lanes.size(); i++) {
+            Lane lane = lanes.get(i);
+            CompletableFuture<Void> previous = frameBarrier ? lastFrame : lane.last;
+            // failure of the previous frame does not stop this one
+            lane.last = previous.handle((v, e) -> null).thenRunAsync(lane::flush, executor);
+            flushes[i] = lane.last;
+        }
+        lastFrame = CompletableFuture.allOf(flushes)
+                .whenComplete((v, e) -> frameLatency.record(System.nanoTime() - start));
+        return lastFrame;
+    }
+
+    /**
+     * flushes all displays and waits for completion
+     */
+    public void display() throws IOException {
+        try {
+            displayAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * waits for outstanding flushes and stops the group's threads - does not shut down the displays
+     */
+    public void shutdown() throws InterruptedException {
+        CompletableFuture<Void> frame;
+        synchronized (this) {
+            frame = lastFrame;
+        }
+        frame.handle((v, e) -> null).join();
+        if (ownExecutor) {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    public boolean isFrameBarrier() {
+        return frameBarrier;
+    }
+
+    /**
+     * @param frameBarrier start a frame only after the previous one has reached all displays
+     */
+    public synchronized void setFrameBarrier(boolean frameBarrier) {
+        this.frameBarrier = frameBarrier;
+    }
+
+    public List<SSDisplay> getDisplays() {
+        return new ArrayList<>(displays);
+    }
+
+    /**
+     * @return number of displays flushed in parallel
+     */
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * @return time the display's flushes took
+     */
+    public LatencyHistogram getFlushLatency(SSDisplay display) {
+        return flushLatencies.get(display);
+    }
+
+    /**
+     * @return time from request to completion on all displays
+     */
+    public LatencyHistogram getFrameLatency() {
+        return frameLatency;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DisplayGroup{lanes=").append(lanes.size())
+                .append(", frameBarrier=").append(frameBarrier)
+                .append(", frame=").append(frameLatency);
+        for (SSDisplay display : displays) {
+            sb.append(", ").append(display.getClass().getSimpleName())
+                    .append('=').append(flushLatencies.get(display));
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * displays sharing a connection
+     */
+    private class Lane {
+        final DisplayConnection dspConn;
+        final List<SSDisplay> displays = new ArrayList<>();
+        CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+
+        Lane(DisplayConnection dspConn) {
+            this.dspConn = dspConn;
+        }
+
+        void flush() {
+            for (SSDisplay display : displays) {
+                long start = System.nanoTime();
+                try {
+                    if (display.isTripleBuffered()) {
+                        display.flushFrame();
+                    } else {
+                        display.display();
+                    }
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    flushLatencies.get(display).record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
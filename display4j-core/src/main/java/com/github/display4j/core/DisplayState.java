@@ -0,0 +1,318 @@
+package com.github.display4j.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * snapshot of a display and its controller - persisted to restart without reinitialising the panel
+ *
+ * Taken by {@link SSDisplay#getState()} and applied by {@link SSDisplay#resume(DisplayState)}.
+ * Files are replaced atomically and carry a checksum. The boot id of the machine is recorded,
+ * a state of an earlier boot is not resumed - the panel has most likely lost power since.
+ * <br/>
+ * The frame is only stored if no further frames are sent after the state was taken
+ * (see {@link #write(Path, boolean)}), otherwise a resumed display sends its first frame as a whole.
+ *
+ * @see WarmRestart
+ */
+public class DisplayState {
+    static final int MAGIC = 0x44344A53;   // "D4JS"
+    static final int VERSION = 1;
+
+    private static final Path BOOT_ID = Paths.get("/proc/sys/kernel/random/boot_id");
+
+    private final String controller;
+    private final int width;
+    private final int height;
+
+    private String bootId;
+    private long savedAt;
+
+    private final boolean displayOn;
+    private final boolean inverted;
+    private final boolean hFlipped;
+    private final boolean vFlipped;
+    private final boolean scrolling;
+    private final int contrast;
+    private final int offset;
+
+    /** indexed by register ordinal, {@link ControllerState#UNKNOWN} if not known */
+    private final long[] registers;
+
+    /** null if the content of the display RAM is not known */
+    private final byte[] frame;
+
+    DisplayState(String controller, int width, int height,
+                 boolean displayOn, boolean inverted, boolean hFlipped, boolean vFlipped, boolean scrolling,
+                 int contrast, int offset, long[] registers, byte[] frame) {
+        this.controller = controller;
+        this.width = width;
+        this.height = height;
+        this.displayOn = displayOn;
+        this.inverted = inverted;
+        this.hFlipped = hFlipped;
+        this.vFlipped = vFlipped;
+        this.scrolling = scrolling;
+        this.contrast = contrast;
+        this.offset = offset;
+        this.registers = registers;
+        this.frame = frame;
+        this.bootId = currentBootId();
+        this.savedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the state stored in the file - null if there is none
+     * @throws IOException if the file is damaged or of another version
+     */
+    public static DisplayState read(Path file) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        return decode(bytes);
+    }
+
+    /**
+     * replaces the file atomically
+     *
+     * @param last true if no further frames are sent after this state - only then the frame is stored
+     */
+    public void write(Path file, boolean last) throws IOException {
+        byte[] bytes = encode(last);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, bytes);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    byte[] encode(boolean last) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (frame == null ? 0 : frame.length));
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(controller);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeUTF(bootId);
+        out.writeLong(savedAt);
+
+        out.writeBoolean(displayOn);
+        out.writeBoolean(inverted);
+        out.writeBoolean(hFlipped);
+        out.writeBoolean(vFlipped);
+        out.writeBoolean(scrolling);
+        out.writeInt(contrast);
+        out.writeInt(offset);
+
+        ControllerState.Register[] names = ControllerState.Register.values();
+        out.writeShort(registers.length);
+        for (int i = 0; i < registers.length; i++) {
+            out.writeUTF(names[i].name());
+            out.writeLong(registers[i]);
+        }
+
+        if (last && frame != null) {
+            out.writeInt(frame.length);
+            out.write(frame);
+        } else {
+            out.writeInt(-1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeLong(crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static DisplayState decode(byte[] bytes) throws IOException {
+        if (bytes.length < 8) {
+            throw new IOException("state file truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.skipBytes(bytes.length - 8);
+        if (in.readLong() != crc.getValue()) {
+            throw new IOException("state file damaged");
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a display state file");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("unsupported state file version " + version);
+        }
+        String controller = in.readUTF();
+        int width = in.readInt();
+        int height = in.readInt();
+        String bootId = in.readUTF();
+        long savedAt = in.readLong();
+
+        boolean displayOn = in.readBoolean();
+        boolean inverted = in.readBoolean();
+        boolean hFlipped = in.readBoolean();
+        boolean vFlipped = in.readBoolean();
+        boolean scrolling = in.readBoolean();
+        int contrast = in.readInt();
+        int offset = in.readInt();
+
+        long[] registers = new long[ControllerState.Register.values().length];
+        Arrays.fill(registers, ControllerState.UNKNOWN);
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            long value = in.readLong();
+            for (ControllerState.Register register : ControllerState.Register.values()) {
+                // registers unknown to this version are dropped
+                if (register.name().equals(name)) {
+                    registers[register.ordinal()] = value;
+                }
+            }
+        }
+
+        byte[] frame = null;
+        int frameLength = in.readInt();
+        if (frameLength >= 0) {
+            frame = new byte[frameLength];
+            in.readFully(frame);
+        }
+
+        DisplayState state = new DisplayState(controller, width, height,
+                displayOn, inverted, hFlipped, vFlipped, scrolling, contrast, offset, registers, frame);
+        state.bootId = bootId;
+        state.savedAt = savedAt;
+        return state;
+    }
+
+    /**
+     * @return the boot id of the machine - empty if not available (f.e. not on Linux)
+     */
+    static String currentBootId() {
+        try {
+            return new String(Files.readAllBytes(BOOT_ID), StandardCharsets.US_ASCII).trim();
+        } catch (IOException | SecurityException e) {
+            return "";
+        }
+    }
+
+    /**
+     * @return false if the state was taken on an earlier boot of the machine
+     */
+    public boolean isCurrentBoot() {
+        String current = currentBootId();
+        return bootId.isEmpty() || current.isEmpty() || bootId.equals(current);
+    }
+
+    /**
+     * @return true if display, settings and registers are the same - regardless of the frame
+     */
+    boolean hasSameSettings(DisplayState other) {
+        return controller.equals(other.controller)
+                && width == other.width
+                && height == other.height
+                && displayOn == other.displayOn
+                && inverted == other.inverted
+                && hFlipped == other.hFlipped
+                && vFlipped == other.vFlipped
+                && scrolling == other.scrolling
+                && contrast == other.contrast
+                && offset == other.offset
+                && Arrays.equals(registers, other.registers);
+    }
+
+    /**
+     * @return class name of the display
+     */
+    public String getController() {
+        return controller;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return epoch millis the state was taken
+     */
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    public boolean isDisplayOn() {
+        return displayOn;
+    }
+
+    public boolean isInverted() {
+        return inverted;
+    }
+
+    public boolean isHFlipped() {
+        return hFlipped;
+    }
+
+    public boolean isVFlipped() {
+        return vFlipped;
+    }
+
+    public boolean isScrolling() {
+        return scrolling;
+    }
+
+    public int getContrast() {
+        return contrast;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the register value - {@link ControllerState#UNKNOWN} if not known
+     */
+    public long getRegister(ControllerState.Register register) {
+        return registers[register.ordinal()];
+    }
+
+    /**
+     * @return the content of the display RAM - null if not known
+     */
+    public byte[] getFrame() {
+        return frame;
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayState{" +
+                "controller=" + controller +
+                ", width=" + width +
+                ", height=" + height +
+                ", savedAt=" + savedAt +
+                ", frame=" + (frame != null) +
+                '}';
+    }
+}
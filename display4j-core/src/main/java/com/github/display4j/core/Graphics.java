@@ -1,11 +1,17 @@
 package com.github.display4j.core;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 
 import com.github.display4j.core.font.Font;
+import com.github.display4j.core.jfr.FlightRecorder;
 
 /*
  * Licensed under The MIT License
@@ -25,6 +31,24 @@ public class Graphics {
 	 */
 	private SSDisplay ssd1306;
 
+	/**
+	 * The character set name of the font last used by text() and its encoder.
+	 */
+	private String charsetName;
+	private CharsetEncoder encoder;
+
+	/**
+	 * Text and encoded text of text(), grown as needed.
+	 */
+	private CharBuffer chars = CharBuffer.allocate(32);
+	private ByteBuffer bytes = ByteBuffer.allocate(32);
+
+	/**
+	 * Scratch image of image(), kept while the size does not change.
+	 */
+	private BufferedImage mono;
+	private Graphics2D monoGraphics;
+
 	/**
 	 * Graphics constructor.
 	 *
@@ -43,13 +67,14 @@ public class Graphics {
 	 * @param text The text to draw.
 	 */
 	public void text(int x, int y, Font font, String text) {
+		Object event = FlightRecorder.beginText();
 		int rows = font.getRows();
 		int cols = font.getColumns();
 		int[] glyphs = font.getGlyphs();
-		byte[] bytes = text.getBytes(Charset.forName(font.getName()));
+		ByteBuffer bytes = encode(font.getName(), text);
 
-		for(int i = 0; i < text.length(); i++) {
-			int p = (bytes[i] & 0xFF) * cols;
+		for(int i = 0; i < bytes.limit(); i++) {
+			int p = (bytes.get(i) & 0xFF) * cols;
 
 			for(int col = 0; col < cols; col++) {
 				int mask = glyphs[p++];
@@ -64,6 +89,37 @@ public class Graphics {
 
 			x++;
 		}
+		FlightRecorder.endText(event, font.getName(), text.length());
+	}
+
+	/**
+	 * Encode the text with the font's character set - unmappable characters are replaced like String.getBytes() does.
+	 *
+	 * @return The reused buffer holding the encoded text.
+	 */
+	private ByteBuffer encode(String name, String text) {
+		if (!name.equals(charsetName)) {
+			encoder = Charset.forName(name).newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			charsetName = name;
+		}
+		if (chars.capacity() < text.length()) {
+			chars = CharBuffer.allocate(text.length());
+		}
+		int maxBytes = (int) Math.ceil(text.length() * (double) encoder.maxBytesPerChar());
+		if (bytes.capacity() < maxBytes) {
+			bytes = ByteBuffer.allocate(maxBytes);
+		}
+
+		text.getChars(0, text.length(), chars.array(), 0);
+		chars.position(0).limit(text.length());
+		bytes.clear();
+		encoder.reset();
+		encoder.encode(chars, bytes, true);
+		encoder.flush(bytes);
+		bytes.flip();
+		return bytes;
 	}
 
 	/**
@@ -76,8 +132,18 @@ public class Graphics {
 	 * @param height The height to resize the image to.
 	 */
 	public void image(BufferedImage image, int x, int y, int width, int height) throws IOException {
-		BufferedImage mono = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
-		mono.createGraphics().drawImage(image, 0, 0, width, height, null);
+		Object event = FlightRecorder.beginImage();
+		if (mono == null || mono.getWidth() != width || mono.getHeight() != height) {
+			if (monoGraphics != null) {
+				monoGraphics.dispose();
+			}
+			mono = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+			monoGraphics = mono.createGraphics();
+		} else {
+			// transparent parts of the image must not show the previous one
+			monoGraphics.clearRect(0, 0, width, height);
+		}
+		monoGraphics.drawImage(image, 0, 0, width, height, null);
 		Raster r = mono.getRaster();
 
 		for(int i = 0; i < height; i++) {
@@ -85,6 +151,7 @@ public class Graphics {
 				ssd1306.setPixel(x + j, y + i, r.getSample(j, i, 0) > 0);
 			}
 		}
+		FlightRecorder.endImage(event, width, height);
 	}
 
 	/**
@@ -0,0 +1,87 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.conn.ForwardingDisplayConnection;
+import com.github.display4j.core.conn.I2CMultiplexer;
+import com.github.display4j.core.conn.MultiplexedDisplayConnection;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * displays behind the channels of one {@link I2CMultiplexer}, flushed in channel order
+ *
+ * {@link #display()} starts with the channel selected at the moment and walks the channels upwards
+ * (wrapping around), so every channel is selected at most once per flush.
+ */
+public class MultiplexedDisplayGroup {
+    private final I2CMultiplexer mux;
+
+    /** sorted by channel */
+    private final List<SSDisplay> displays = new ArrayList<>();
+    private final List<Integer> channels = new ArrayList<>();
+
+    public MultiplexedDisplayGroup(I2CMultiplexer mux) {
+        this.mux = mux;
+    }
+
+    /**
+     * @param display must be connected via a {@link MultiplexedDisplayConnection} of the group's multiplexer -
+     *                possibly wrapped by other decorators
+     */
+    public synchronized MultiplexedDisplayGroup add(SSDisplay display) {
+        MultiplexedDisplayConnection conn = findMultiplexedConnection(display.getDspConn());
+        if (conn == null || conn.getMultiplexer() != mux) {
+            throw new IllegalArgumentException("display is not connected via the group's multiplexer");
+        }
+        int index = 0;
+        while (index < channels.size() && channels.get(index) <= conn.getChannel()) {
+            index++;
+        }
+        displays.add(index, display);
+        channels.add(index, conn.getChannel());
+        return this;
+    }
+
+    public synchronized void remove(SSDisplay display) {
+        int index = displays.indexOf(display);
+        if (index >= 0) {
+            displays.remove(index);
+            channels.remove(index);
+        }
+    }
+
+    /**
+     * sends the buffers of all displays, starting with the selected channel
+     */
+    public synchronized void display() throws IOException {
+        int count = displays.size();
+        int selected = mux.getSelectedChannel();
+        int first = 0;
+        while (first < count && channels.get(first) < selected) {
+            first++;
+        }
+        for (int i = 0; i < count; i++) {
+            displays.get((first + i) % count).display();
+        }
+    }
+
+    public I2CMultiplexer getMultiplexer() {
+        return mux;
+    }
+
+    public synchronized List<SSDisplay> getDisplays() {
+        return new ArrayList<>(displays);
+    }
+
+    private static MultiplexedDisplayConnection findMultiplexedConnection(DisplayConnection dspConn) {
+        while (dspConn instanceof ForwardingDisplayConnection) {
+            if (dspConn instanceof MultiplexedDisplayConnection) {
+                return (MultiplexedDisplayConnection) dspConn;
+            }
+            dspConn = ((ForwardingDisplayConnection) dspConn).getDelegate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.update.UpdateWindow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+public class SSD1306 extends SSDisplay {
+    private static final Logger logger = LoggerFactory.getLogger(SSD1306.class);
+    public static final int COLOR_BITS_PER_PIXEL = 1;
+
+    //int pages = 0;
+
+    public CommandSSD1306 commandset = new CommandSSD1306();
+
+    /**
+     * The current memory addressing mode.
+     */
+    private int memoryMode = Constant.MEMORY_MODE_HORIZONTAL;
+
+
+    public SSD1306(DisplayConnection dspConn, int width, int height) {
+        super(dspConn, width, height);
+        init();
+    }
+
+    private void init() {
+        super.commandset = this.commandset;
+    }
+
+    /**
+     * Startup specific to 1306
+     *
+     * @param externalVcc Indicates whether the display is being driven by an external power source.
+     */
+    @Override
+    public void startup(boolean externalVcc) throws IOException {
+        logger.debug("startup");
+        reset();
+
+        // whole sequence in as few bus transactions as possible
+        beginTransaction();
+        try {
+            sendStartupSequence(StartupSequence.get("SSD1306:" + width + "x" + height + (externalVcc ? ":external" : ":internal"),
+                    () -> compileStartupSequence(externalVcc)));
+            memoryMode = Constant.MEMORY_MODE_HORIZONTAL;
+            // registers are in place, only the flags are updated
+            setOffset(0);
+            setHFlipped(false);
+            setVFlipped(false);
+            setContrast(height == 64 ? 0x8F : externalVcc ? 0x9F : 0xCF);
+
+            super.basicStartup(externalVcc);
+        } finally {
+            commitTransaction();
+        }
+    }
+
+    private StartupSequence compileStartupSequence(boolean externalVcc) {
+        int contrast = height == 64 ? 0x8F : externalVcc ? 0x9F : 0xCF;   // from I2C, SPI used (externalVcc ? 0x9F : 0xCF)
+        return new StartupSequence.Builder()
+                .command(commandset.DISPLAY_OFF).set(ControllerState.Register.DISPLAY_ON, 0)
+
+                .command(commandset.SET_DISPLAY_CLOCK_DIV, width)  // from SPI
+                // .command(commandset.SET_DISPLAY_CLOCK_DIV, 0x80)    // from I2C
+
+                // TODO what´s this for?
+                // .command(commandset.SET_MULTIPLEX_RATIO, width - 1)// from SPI
+                .command(commandset.SET_MULTIPLEX_RATIO, height == 64 ? 0x3F : 0x1F)// from I2C
+
+                .command(commandset.SET_DISPLAY_OFFSET, 0).set(ControllerState.Register.OFFSET, 0)
+                .command(commandset.SET_START_LINE_00).set(ControllerState.Register.START_LINE, 0)
+                .command(commandset.SET_CHARGE_PUMP, externalVcc ? Constant.CHARGE_PUMP_DISABLE : Constant.CHARGE_PUMP_ENABLE)
+                .command(commandset.SET_MEMORY_MODE, Constant.MEMORY_MODE_HORIZONTAL)
+                .set(ControllerState.Register.MEMORY_MODE, Constant.MEMORY_MODE_HORIZONTAL)
+                .command(commandset.SET_SEGMENT_REMAP_REVERSE).set(ControllerState.Register.SEGMENT_REMAP, 0)
+                .command(commandset.SET_COM_SCAN_DEC).set(ControllerState.Register.COM_SCAN, 0)
+                .command(commandset.SET_COM_PINS, height == 64 ? 0x12 : 0x02)
+                .command(commandset.SET_CONTRAST, contrast).set(ControllerState.Register.CONTRAST, contrast)
+                .command(commandset.SET_PRECHARGE_PERIOD, externalVcc ? 0x22 : 0xF1)
+                .command(commandset.SET_VCOMH_DESELECT, Constant.VCOMH_DESELECT_LEVEL_00)
+                .command(commandset.DISPLAY_MODE_NORMAL)
+                .command(getNonInvertedDisplayMode()).set(ControllerState.Register.INVERT, 0)
+                .build();
+    }
+
+
+    /**
+     * Set a pixel in the buffer.
+     *
+     * @param x The X position of the pixel to set.
+     * @param y The Y position of the pixel to set.
+     * @param on Whether to turn this pixel on or off.
+     *
+     * @return False if the given coordinates are out of bounds.
+     */
+    public boolean setPixel(int x, int y, boolean on) {
+        if(x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+
+        if(on) {
+            buffer[x + (y / 8) * width] |= (1 << (y & 7));
+        } else {
+            buffer[x + (y / 8) * width] &= ~(1 << (y & 7));
+        }
+        dirtyRegion.include(x, y / 8);
+
+        return true;
+    }
+
+
+    public byte[] getNewBuffer() {
+        /**
+         * The number of pages in the display.
+         */
+        byte[] buffer = new byte[width * height / 8];
+        return buffer;
+    }
+
+    @Override
+    public int getAddressColumns() {
+        return width;
+    }
+
+    @Override
+    public int getAddressRows() {
+        return height / 8;
+    }
+
+    @Override
+    protected void setAddressWindow(UpdateWindow window) throws IOException {
+        if (memoryMode != Constant.MEMORY_MODE_HORIZONTAL) {
+            setMemoryMode(Constant.MEMORY_MODE_HORIZONTAL);
+        }
+        if (controllerState.update(ControllerState.Register.COLUMN_WINDOW, window.getColumnStart(), window.getColumnEnd())) {
+            command(commandset.SET_COLUMN_ADDRESS, window.getColumnStart(), window.getColumnEnd());
+        }
+        if (controllerState.update(ControllerState.Register.ROW_WINDOW, window.getRowStart(), window.getRowEnd())) {
+            command(commandset.SET_PAGE_ADDRESS, window.getRowStart(), window.getRowEnd());
+        }
+    }
+
+    @Override
+    protected boolean isPageModeSupported() {
+        return true;
+    }
+
+    @Override
+    protected boolean isPageAddressing() {
+        return memoryMode == Constant.MEMORY_MODE_PAGE;
+    }
+
+    @Override
+    protected void setPageAddress(int page, int column) throws IOException {
+        if (memoryMode != Constant.MEMORY_MODE_PAGE) {
+            setMemoryMode(Constant.MEMORY_MODE_PAGE);
+        }
+        command(commandset.SET_PAGE_START_ADDR_0 + page);
+        command(commandset.SET_LOWER_COL_START_0 + (column & 0x0F));
+        command(commandset.SET_HIGHER_COL_START_0 + ((column >> 4) & 0x0F));
+    }
+
+    @Override
+    public synchronized boolean resume(DisplayState state) {
+        if (!super.resume(state)) {
+            return false;
+        }
+        if (controllerState.isKnown(ControllerState.Register.MEMORY_MODE)) {
+            memoryMode = (int) controllerState.getValue(ControllerState.Register.MEMORY_MODE);
+        } else {
+            // set again before the next window
+            memoryMode = Constant.MEMORY_MODE_PAGE;
+        }
+        return true;
+    }
+
+    /**
+     * after a hardware reset the controller is in page addressing mode
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        memoryMode = Constant.MEMORY_MODE_PAGE;
+    }
+
+    /**
+     * Get the memory addressing mode.
+     *
+     * @return The current memory addressing mode.
+     */
+    public int getMemoryMode() {
+        return memoryMode;
+    }
+
+    /**
+     * Set the memory addressing mode.
+     *
+     * @param memoryMode The memory addressing mode.
+     *
+     * @see Constant#MEMORY_MODE_HORIZONTAL
+     * @see Constant#MEMORY_MODE_VERTICAL
+     * @see Constant#MEMORY_MODE_PAGE
+     */
+    public void setMemoryMode(int memoryMode) throws IOException {
+        if (controllerState.update(ControllerState.Register.MEMORY_MODE, memoryMode)) {
+            command(commandset.SET_MEMORY_MODE, memoryMode);
+        }
+        this.memoryMode = memoryMode;
+    }
+
+    public int getColorBitsPerPixel() {
+        return COLOR_BITS_PER_PIXEL;
+    }
+
+    @Override
+    public CommandSSD1306 getCommandset() {
+        return new CommandSSD1306();
+    }
+
+    @Override
+    public Graphics2D getGraphics2D() {
+        if (bufferedImage == null) {
+            bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+            graphics2D = bufferedImage.createGraphics();
+            graphics2D.clearRect(0, 0, width, height);
+            graphics2D.setColor(Color.WHITE);
+        }
+        return graphics2D;
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.display4j.core;
 
 import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.jfr.FlightRecorder;
+import com.github.display4j.core.update.UpdateWindow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,51 +56,72 @@ public class SSD1327 extends SSDisplay {
 
         reset();
 
-        dspConn.command(0xFD, 0x12);    // send unlock
-
-        setDisplayOn(false);
-
-        // set mulitplex-ratio to default (127)
-        dspConn.command(commandset.SET_MULTIPLEX_RATIO, height - 1);
+        // whole sequence in as few bus transactions as possible
+        beginTransaction();
+        try {
+            sendStartupSequence(StartupSequence.get("SSD1327:" + width + "x" + height + (splittingOddEven ? ":split" : ""),
+                    this::compileStartupSequence));
+            // registers are in place, only the flags are updated
+            stopScroll();
+
+            super.basicStartup(externalVcc);
+        } finally {
+            commitTransaction();
+        }
+    }
 
-        dspConn.command(commandset.SET_CONTRAST, 0x7F);
+    private StartupSequence compileStartupSequence() {
+        //int remapConfig = DEFAULT_REMAP_CONFIG;
+        int remapConfig = getRemapConfig(false, false, false, false, false, false, splittingOddEven);
+        return new StartupSequence.Builder()
+                .command(0xFD, 0x12)    // send unlock
 
-        stopScroll();
-        setDisplayStartLine(0);
-        setDisplayOffset(0);
+                .command(commandset.DISPLAY_OFF).set(ControllerState.Register.DISPLAY_ON, 0)
 
-        //setRemap(DEFAULT_REMAP_CONFIG);
-        setRemap(false, false, false,false, splittingOddEven);
+                // set mulitplex-ratio to default (127)
+                .command(commandset.SET_MULTIPLEX_RATIO, height - 1)
 
-        resetColumnAndRowStartEndAddress();
+                .command(commandset.SET_CONTRAST, 0x7F).set(ControllerState.Register.CONTRAST, 0x7F)
 
-        dspConn.command(commandset.DISPLAY_MODE_NORMAL);
+                .command(commandset.DEACTIVATE_SCROLL).set(ControllerState.Register.SCROLL, 0)
+                .command(commandset.SET_DISPLAY_START_LINE, 0).set(ControllerState.Register.START_LINE, 0)
+                .command(commandset.SET_DISPLAY_OFFSET, 0).set(ControllerState.Register.OFFSET, 0)
+                .command(commandset.SET_SEGMENT_REMAP, remapConfig).set(ControllerState.Register.REMAP, remapConfig)
 
-        super.basicStartup(externalVcc);
-    }
+                .command(commandset.SETUP_COLUMN_START_END_ADDRESS, 0, ROW_SIZE_IN_BYTES - 1)
+                .set(ControllerState.Register.COLUMN_WINDOW, 0, ROW_SIZE_IN_BYTES - 1)
+                .command(commandset.SETUP_ROW_START_END_ADDRESS, 0, height - 1)
+                .set(ControllerState.Register.ROW_WINDOW, 0, height - 1)
 
-    private void resetColumnAndRowStartEndAddress() throws IOException {
-        setColumnStartEndAddress(0, ROW_SIZE_IN_BYTES - 1);
-        setRowStartEndAddress(0, height - 1);
+                .command(commandset.DISPLAY_MODE_NORMAL).set(ControllerState.Register.INVERT, 0)
+                .build();
     }
 
     public void setDisplayStartLine(int line) throws IOException {
         if (line > 127) {
             throw new IllegalArgumentException("line not expected: " + line);
         }
-        dspConn.command(commandset.SET_DISPLAY_START_LINE, line);
+        if (controllerState.update(ControllerState.Register.START_LINE, line)) {
+            command(commandset.SET_DISPLAY_START_LINE, line);
+        }
     }
 
     public void setDisplayOffset(int offset) throws IOException {
-        dspConn.command(commandset.SET_DISPLAY_OFFSET, offset);
+        if (controllerState.update(ControllerState.Register.OFFSET, offset)) {
+            command(commandset.SET_DISPLAY_OFFSET, offset);
+        }
     }
 
     public void setColumnStartEndAddress(int start, int end) throws IOException {
-        dspConn.command(commandset.SETUP_COLUMN_START_END_ADDRESS, start, end);
+        if (controllerState.update(ControllerState.Register.COLUMN_WINDOW, start, end)) {
+            command(commandset.SETUP_COLUMN_START_END_ADDRESS, start, end);
+        }
     }
 
     public void setRowStartEndAddress(int start, int end) throws IOException {
-        dspConn.command(commandset.SETUP_ROW_START_END_ADDRESS, start, end);
+        if (controllerState.update(ControllerState.Register.ROW_WINDOW, start, end)) {
+            command(commandset.SETUP_ROW_START_END_ADDRESS, start, end);
+        }
     }
 
     /**
@@ -112,7 +135,9 @@ public class SSD1327 extends SSDisplay {
      * 0x42 = 01000010
      */
     public void setRemap(int remapConfig) throws IOException {
-        dspConn.command(commandset.SET_SEGMENT_REMAP, remapConfig);
+        if (controllerState.update(ControllerState.Register.REMAP, remapConfig)) {
+            command(commandset.SET_SEGMENT_REMAP, remapConfig);
+        }
     }
 
 
@@ -144,7 +169,22 @@ public class SSD1327 extends SSDisplay {
                          boolean comRemapping,
                          boolean undocumented5,
                          boolean splittingOfOddEven) throws IOException {
+        setRemap(getRemapConfig(columnAddressRemapping,
+                nibbleRemapping,
+                addressIncrementMode,
+                undocumented3,
+                comRemapping,
+                undocumented5,
+                splittingOfOddEven));
+    }
 
+    private int getRemapConfig(boolean columnAddressRemapping,
+                               boolean nibbleRemapping,
+                               boolean addressIncrementMode,
+                               boolean undocumented3,
+                               boolean comRemapping,
+                               boolean undocumented5,
+                               boolean splittingOfOddEven) {
         int remapConfig = 0;
         if (columnAddressRemapping) {
             remapConfig |= (1 << 0);
@@ -180,8 +220,7 @@ public class SSD1327 extends SSDisplay {
         if (splittingOfOddEven) {
             remapConfig |= (1 << 6);
         }
-
-        setRemap(remapConfig);
+        return remapConfig;
     }
 
 
@@ -213,6 +252,8 @@ public class SSD1327 extends SSDisplay {
         }
 
         int arrayElement = getBufferArrayElementForPixel(x, y);
+        // y is the (remapped) row in display RAM here
+        dirtyRegion.include(x / 2, y);
 
 
         int nibbleSelector = x & 1;
@@ -250,35 +291,51 @@ public class SSD1327 extends SSDisplay {
         return new byte[width * height * COLOR_BITS_PER_PIXEL / 8];
     }
 
+    @Override
+    public int getAddressColumns() {
+        // called from super constructor - ROW_SIZE_IN_BYTES not yet initialized
+        return width * COLOR_BITS_PER_PIXEL / 8;
+    }
+
+    @Override
+    public int getAddressRows() {
+        return height;
+    }
+
     public int getColorBitsPerPixel() {
         return COLOR_BITS_PER_PIXEL;
     }
 
+    /**
+     * A4 - on the SSD1327 A6 turns all pixels off
+     */
+    @Override
+    protected int getNonInvertedDisplayMode() {
+        return commandset.DISPLAY_MODE_NORMAL;
+    }
+
     @Override
     public CommandSSD1327 getCommandset() {
         return new CommandSSD1327();
     }
 
 
-    // FIXME use double-buffer
     /**
-     * because of size have to output line by line
-     * @throws IOException
+     * windows are sent as column / row start-end address pairs (horizontal address increment)
      */
     @Override
-    public synchronized void display() throws IOException {
-        int tranferInSegments = 2;      // exception in PI4j if tranferring the whole bunch at once
-        int rowsAtOneTime = height / tranferInSegments;
-
-        resetColumnAndRowStartEndAddress();
-
-        //byte [] rowData = new byte[rowSize];
-        for (int row = 0; row<height; row+= rowsAtOneTime) {
-            int rowStart = row * ROW_SIZE_IN_BYTES;
-            //int rowEnd = (row + 1) * rowSize - 1;
+    protected void setAddressWindow(UpdateWindow window) throws IOException {
+        setColumnStartEndAddress(window.getColumnStart(), window.getColumnEnd());
+        setRowStartEndAddress(window.getRowStart(), window.getRowEnd());
+    }
 
-            dspConn.data(buffer, rowStart, ROW_SIZE_IN_BYTES * rowsAtOneTime);
-        }
+    /**
+     * no page addressing mode, a page is a single address row written through a one row window
+     */
+    @Override
+    protected void setPageAddress(int page, int column) throws IOException {
+        setColumnStartEndAddress(column, getAddressColumns() - 1);
+        setRowStartEndAddress(page, page);
     }
 
     /**
@@ -302,6 +359,7 @@ public class SSD1327 extends SSDisplay {
 
     @Override
     public void rasterGraphics2DImage(boolean display) throws IOException {
+        Object event = FlightRecorder.beginRaster();
         Raster r = bufferedImage.getRaster();
         int sample = 0;
         for (int y = 0; y < height; y++) {
@@ -310,6 +368,7 @@ public class SSD1327 extends SSDisplay {
                 setPixel(x, y, sample);
             }
         }
+        FlightRecorder.endRaster(event, this, width * height);
 
         if (display) {
             display();
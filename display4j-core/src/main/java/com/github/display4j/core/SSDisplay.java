@@ -0,0 +1,1321 @@
+package com.github.display4j.core;
+
+/*
+ * Licensed under The MIT License
+ *
+ * Copyright (c) 2017 fauxpark <fauxpark@gmail.com>
+ *
+ * see /LICENSE-MIT
+ */
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.conn.DisplayTransaction;
+import com.github.display4j.core.conn.TransportCalibration;
+import com.github.display4j.core.conn.TransportCalibrator;
+import com.github.display4j.core.jfr.FlightRecorder;
+import com.github.display4j.core.update.DirtyRegion;
+import com.github.display4j.core.update.FrameDiff;
+import com.github.display4j.core.update.FrameStore;
+import com.github.display4j.core.update.UpdatePlanner;
+import com.github.display4j.core.update.UpdateStatistics;
+import com.github.display4j.core.update.UpdateWindow;
+import com.github.display4j.core.update.UpdateWindows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A base class for defining implementations of the SSD1306 OLED display.
+ *
+ * @author fauxpark
+ */
+public abstract class SSDisplay {
+	private static final Logger logger = LoggerFactory.getLogger(SSDisplay.class);
+
+	protected DisplayConnection dspConn;
+
+	public CommandSSD commandset = new CommandSSD();
+
+	protected BufferedImage bufferedImage;
+	protected Graphics2D graphics2D;
+	/**
+	 * A helper class for drawing lines, shapes, text and images.
+	 * @deprecated used anymore?
+	 */
+	private com.github.display4j.core.Graphics graphics;
+
+	/**
+	 * The width of the display in pixels.
+	 */
+	protected int width;
+
+	/**
+	 * The height of the display in pixels.
+	 */
+	protected int height;
+
+
+
+	/**
+	 * The display buffer.
+	 */
+	protected byte[] buffer;
+
+	/**
+	 * The part of the buffer modified since the last transfer to the display.
+	 */
+	protected DirtyRegion dirtyRegion;
+
+	/**
+	 * Scratch buffer to gather a window narrower than the display before sending it.
+	 */
+	private byte[] windowBuffer;
+
+	/**
+	 * The windows to send on the next {@link #display()} (reused between calls).
+	 */
+	private final UpdateWindows updateWindows = new UpdateWindows();
+
+	/**
+	 * Indicates whether display() compares the buffer against the last transmitted one.
+	 */
+	private boolean frameDiffing;
+
+	/**
+	 * Copy of the buffer as last transmitted to the display (only used with frame diffing).
+	 */
+	private byte[] shadowBuffer;
+
+	/**
+	 * Indicates whether the shadow buffer reflects the content of the display RAM.
+	 */
+	private boolean shadowValid;
+
+	private FrameDiff frameDiff;
+
+	/**
+	 * Chooses how the modified windows are sent.
+	 */
+	private UpdatePlanner updatePlanner;
+
+	/**
+	 * Back, pending and front buffer if triple buffered - null otherwise.
+	 */
+	private FrameStore frameStore;
+
+	/**
+	 * The open transaction of the connection - null if none.
+	 */
+	private DisplayTransaction transaction;
+
+	/**
+	 * Nesting level of {@link #beginTransaction()}.
+	 */
+	private int transactionDepth;
+
+	/**
+	 * Bytes of the window buffer referenced by the open transaction.
+	 */
+	private int windowBufferUsed;
+
+	/**
+	 * Candidate region for frames taken from the frame store (always complete, narrowed by frame diffing).
+	 */
+	private DirtyRegion frameRegion;
+
+	/**
+	 * Indicates whether the display has been started up.
+	 */
+	private boolean initialised;
+
+	/**
+	 * Indicates whether the display is on or off.
+	 */
+	private boolean displayOn;
+
+	/**
+	 * Indicates whether the display is inverted.
+	 */
+	private boolean inverted;
+
+	/**
+	 * Indicates whether the display is horizontally flipped.
+	 */
+	private boolean hFlipped;
+
+	/**
+	 * Indicates whether the display is vertically flipped.
+	 */
+	private boolean vFlipped;
+
+	/**
+	 * Indicates whether the display is currently scrolling.
+	 */
+	private boolean scrolling;
+
+	/**
+	 * The current contrast level of the display.
+	 */
+	private int contrast;
+
+	/**
+	 * The current display offset.
+	 */
+	private int offset;
+
+	/**
+	 * Indicates whether the connection is calibrated during startup.
+	 */
+	private boolean calibrateOnStartup;
+
+	/**
+	 * Indicates whether the buffer drawn before startup is sent as the first frame instead of a cleared one.
+	 */
+	private boolean keepBufferOnStartup;
+
+	/**
+	 * The register values last sent to the controller - commands without effect are skipped.
+	 */
+	protected final ControllerState controllerState = new ControllerState();
+
+	/**
+	 * SSDisplay constructor.
+	 *
+	 * @param width The width of the display in pixels.
+	 * @param height The height of the display in pixels.
+	 */
+	public SSDisplay(DisplayConnection dspConn, int width, int height) {
+		init(dspConn, width, height);
+	}
+
+
+	private void init(DisplayConnection dspConn, int width, int height) {
+		this.dspConn = dspConn;
+		this.width = width;
+		this.height = height;
+
+		this.commandset = getCommandset();
+
+		buffer = getNewBuffer();
+		dirtyRegion = new DirtyRegion(getAddressColumns(), getAddressRows());
+		updatePlanner = new UpdatePlanner(getAddressColumns(), getAddressRows(), isPageModeSupported());
+	}
+
+	/**
+	 * Get the initialised state of the display.
+	 */
+	public boolean isInitialised() {
+		return initialised;
+	}
+
+	/**
+	 * Start the power on procedure for the display.
+	 * Generic for SSDisplays
+	 *
+	 * @param externalVcc Indicates whether the display is being driven by an external power source.
+	 */
+	public abstract void startup(boolean externalVcc) throws IOException;
+
+	protected void basicStartup(boolean externalVcc) throws IOException {
+		if (calibrateOnStartup) {
+			// display is still off and its RAM is overwritten below
+			calibrateConnection();
+		}
+
+		setInverted(false);
+		if (!keepBufferOnStartup) {
+			clearBuffer();
+		}
+		display();
+		// the first frame is in the display RAM before the panel is lit
+		setDisplayOn(true);
+
+		initialised = true;
+	}
+
+	/**
+	 * Send a pre-encoded startup sequence - or add it to the open transaction.
+	 * <br/>
+	 * The registers set by the sequence are known afterwards, setters with the same values are skipped.
+	 * Inside an open transaction nothing is sent yet: the values are recorded right away, so the setters
+	 * of the same transaction are skipped, and dropped again if the outermost commit fails.
+	 *
+	 * @param sequence The commands to send.
+	 */
+	protected synchronized void sendStartupSequence(StartupSequence sequence) throws IOException {
+		beginTransaction();
+		try {
+			sequence.appendTo(transaction);
+			// invalidated by commitTransaction() if the sequence does not reach the display
+			sequence.applyTo(controllerState);
+		} finally {
+			commitTransaction();
+		}
+	}
+
+	/**
+	 * Measure the connection and apply the result (maximum transfer size and cost model).
+	 * <br/>
+	 * Writes probe data to the display RAM, the whole buffer is sent again on the next {@link #display()}.
+	 *
+	 * @return The calibration result.
+	 */
+	public synchronized TransportCalibration calibrateConnection() throws IOException {
+		if (transaction != null) {
+			// commands collected so far have to reach the display first
+			sendTransaction();
+		}
+		TransportCalibration calibration = new TransportCalibrator().calibrate(dspConn, buffer.length);
+		dspConn.setCalibration(calibration);
+		invalidateAddressWindow();
+
+		dirtyRegion.includeAll();
+		shadowValid = false;
+		return calibration;
+	}
+
+	/**
+	 * Get whether the connection is calibrated during startup.
+	 *
+	 * @return True if the connection is calibrated during startup.
+	 */
+	public boolean isCalibrateOnStartup() {
+		return calibrateOnStartup;
+	}
+
+	/**
+	 * Calibrate the connection during startup (see {@link #calibrateConnection()}).
+	 *
+	 * @param calibrateOnStartup Whether to calibrate the connection during startup.
+	 */
+	public void setCalibrateOnStartup(boolean calibrateOnStartup) {
+		this.calibrateOnStartup = calibrateOnStartup;
+	}
+
+	/**
+	 * Get whether startup sends the buffer as it is instead of clearing the display RAM.
+	 *
+	 * @return True if the buffer is kept on startup.
+	 */
+	public boolean isKeepBufferOnStartup() {
+		return keepBufferOnStartup;
+	}
+
+	/**
+	 * Send the buffer drawn before {@link #startup(boolean)} as the first frame.
+	 * <br/>
+	 * Saves clearing the display RAM when the first frame is known - f.e. a splash screen.
+	 *
+	 * @param keepBufferOnStartup Whether to keep the buffer on startup.
+	 */
+	public void setKeepBufferOnStartup(boolean keepBufferOnStartup) {
+		this.keepBufferOnStartup = keepBufferOnStartup;
+	}
+
+	/**
+	 * Take a snapshot of the display settings, the controller registers and the content of the display RAM.
+	 * <br/>
+	 * The content is only known with frame diffing, see {@link #setFrameDiffing(boolean)}.
+	 *
+	 * @return The state to be persisted for a warm restart.
+	 */
+	public synchronized DisplayState getState() {
+		long[] registers = new long[ControllerState.Register.values().length];
+		for (ControllerState.Register register : ControllerState.Register.values()) {
+			registers[register.ordinal()] = controllerState.getValue(register);
+		}
+		return new DisplayState(getClass().getName(), width, height,
+				displayOn, inverted, hFlipped, vFlipped, scrolling, contrast, offset,
+				registers, frameDiffing && shadowValid ? shadowBuffer.clone() : null);
+	}
+
+	/**
+	 * Continue with a panel still powered and initialised - instead of {@link #startup(boolean)}.
+	 * <br/>
+	 * Neither resets nor initialises the controller. Frame diffing is enabled and the buffer
+	 * is set to the persisted frame, so the first display() only sends what differs from it.
+	 * Without a persisted frame the first display() sends the whole buffer.
+	 *
+	 * @param state The state taken before the restart - may be null.
+	 * @return False if the state does not belong to this display or the current boot, the display has to be started up.
+	 */
+	public synchronized boolean resume(DisplayState state) {
+		if (state == null
+				|| !getClass().getName().equals(state.getController())
+				|| state.getWidth() != width || state.getHeight() != height
+				|| !state.isCurrentBoot()) {
+			return false;
+		}
+
+		controllerState.invalidate();
+		for (ControllerState.Register register : ControllerState.Register.values()) {
+			controllerState.assume(register, state.getRegister(register));
+		}
+		// the address pointer may have stopped anywhere
+		invalidateAddressWindow();
+
+		displayOn = state.isDisplayOn();
+		inverted = state.isInverted();
+		hFlipped = state.isHFlipped();
+		vFlipped = state.isVFlipped();
+		scrolling = state.isScrolling();
+		contrast = state.getContrast();
+		offset = state.getOffset();
+
+		setFrameDiffing(true);
+		byte[] frame = state.getFrame();
+		if (frame != null && frame.length == shadowBuffer.length) {
+			System.arraycopy(frame, 0, shadowBuffer, 0, shadowBuffer.length);
+			setBuffer(frame.clone());
+			shadowValid = true;
+		} else {
+			dirtyRegion.includeAll();
+		}
+
+		initialised = true;
+		return true;
+	}
+
+	/**
+	 * Start the power off procedure for the display.
+	 */
+	public void shutdown() throws IOException {
+		clearBuffer();
+		display();
+		reset();
+
+		initialised = false;
+		setInverted(false);
+		setHFlipped(false);
+		setVFlipped(false);
+		// stopScroll();
+		// setContrast(0);
+		setOffset(0);
+
+		setDisplayOn(false);
+
+		dspConn.shutdown();
+	}
+
+	/**
+	 * Reset the display.
+	 */
+	public void reset() {
+		// TODO sw reset possible?!
+
+		dspConn.reset();
+
+		// content of the display RAM and registers are unknown now
+		dirtyRegion.includeAll();
+		shadowValid = false;
+		controllerState.invalidate();
+	}
+	/**
+	 * Clear the buffer.
+	 * <br/>
+	 * NOTE: This does not clearBuffer the display, you must manually call {@link#display()}.
+	 * <br/>
+	 * The buffer is cleared in place - including an array given to {@link #setBuffer(byte[])}.
+	 */
+	public void clearBuffer() {
+		Arrays.fill(buffer, (byte) 0);
+		dirtyRegion.includeAll();
+	}
+
+
+	public void fillBufferWithPattern(byte bPattern) {
+		for (int i=0; i<buffer.length; i++) {
+			buffer[i] = bPattern;
+		}
+		dirtyRegion.includeAll();
+	}
+
+	/**
+	 * Mark the whole buffer as modified, so the next {@link #display()} transfers all of it.
+	 * <br/>
+	 * Needed if the array returned by {@link #getBuffer()} is modified directly.
+	 */
+	public void markDirty() {
+		dirtyRegion.includeAll();
+	}
+
+	/**
+	 * Get the frame diffing state.
+	 *
+	 * @return Whether display() compares the buffer against the last transmitted one.
+	 */
+	public boolean isFrameDiffing() {
+		return frameDiffing;
+	}
+
+	/**
+	 * Enable or disable frame diffing.
+	 * <br/>
+	 * With frame diffing a copy of the last transmitted buffer is kept and display()
+	 * only sends the bytes that really differ from it. This helps if the whole buffer is
+	 * rewritten every frame (f.e. {@link #rasterGraphics2DImage(boolean)} or {@link #setBuffer(byte[])})
+	 * and costs one extra buffer plus a compare of the modified rows per frame.
+	 * <br/>
+	 * The first display() after enabling transfers all modified parts as usual.
+	 *
+	 * @param frameDiffing Whether to enable frame diffing.
+	 */
+	public synchronized void setFrameDiffing(boolean frameDiffing) {
+		if (frameDiffing && shadowBuffer == null) {
+			shadowBuffer = new byte[buffer.length];
+			frameDiff = new FrameDiff(getAddressColumns());
+		}
+		// the shadow is not maintained while disabled
+		shadowValid = false;
+		this.frameDiffing = frameDiffing;
+	}
+
+	/**
+	 * Get the part of the buffer modified since the last transfer.
+	 *
+	 * @return The dirty region in controller address units.
+	 */
+	public DirtyRegion getDirtyRegion() {
+		return dirtyRegion;
+	}
+
+
+	/**
+	 * Send the buffer to the display.
+	 * <br/>
+	 * Only the parts modified since the last call are transferred. The {@link UpdatePlanner}
+	 * decides whether they are sent as address windows, in page addressing mode or as full frame,
+	 * whichever is cheapest on the connection.
+	 * <br/>
+	 * If triple buffered this publishes the buffer and flushes it right away.
+	 */
+	public synchronized void display() throws IOException {
+		if (frameStore != null) {
+			publishFrame();
+			flushFrame();
+			return;
+		}
+		transmit(buffer, dirtyRegion);
+	}
+
+	/**
+	 * Get the triple buffering state.
+	 *
+	 * @return Whether rendering and sending use separate buffers.
+	 */
+	public boolean isTripleBuffered() {
+		return frameStore != null;
+	}
+
+	/**
+	 * Enable or disable triple buffering.
+	 * <br/>
+	 * With triple buffering the render thread draws into a back buffer and hands complete frames over
+	 * with {@link #publishFrame()}, while a flush thread sends the newest of them with {@link #flushFrame()}.
+	 * Neither side blocks the other and sent frames never tear. Changes are found by frame diffing,
+	 * which is enabled as well.
+	 *
+	 * @param tripleBuffered Whether to enable triple buffering.
+	 */
+	public synchronized void setTripleBuffered(boolean tripleBuffered) {
+		if (tripleBuffered == (frameStore != null)) {
+			return;
+		}
+		if (tripleBuffered) {
+			setFrameDiffing(true);
+			frameStore = new FrameStore(buffer, getNewBuffer(), getNewBuffer());
+			frameRegion = new DirtyRegion(getAddressColumns(), getAddressRows());
+		} else {
+			// the back buffer continues as the only buffer
+			frameStore = null;
+			dirtyRegion.includeAll();
+		}
+	}
+
+	/**
+	 * Hand the buffer over as the newest complete frame (triple buffering only).
+	 * <br/>
+	 * To be called by the render thread. Drawing continues on a copy of the published frame.
+	 */
+	public void publishFrame() {
+		if (frameStore == null) {
+			throw new IllegalStateException("not triple buffered");
+		}
+		byte[] published = buffer;
+		byte[] back = frameStore.publish();
+		System.arraycopy(published, 0, back, 0, back.length);
+		buffer = back;
+		// changes of the published frame are found by frame diffing
+		dirtyRegion.clear();
+	}
+
+	/**
+	 * Send the newest published frame to the display (triple buffering only).
+	 * <br/>
+	 * To be called by the flush thread.
+	 *
+	 * @return False if no frame has been published since the last call.
+	 */
+	public synchronized boolean flushFrame() throws IOException {
+		if (frameStore == null) {
+			throw new IllegalStateException("not triple buffered");
+		}
+		if (!frameStore.acquire()) {
+			return false;
+		}
+		frameRegion.includeAll();
+		transmit(frameStore.getFront(), frameRegion);
+		return true;
+	}
+
+	/**
+	 * Send the candidate region of the frame to the display.
+	 *
+	 * @param frame The buffer to send.
+	 * @param candidates The part of the frame possibly differing from the display RAM - cleared afterwards.
+	 */
+	private void transmit(byte[] frame, DirtyRegion candidates) throws IOException {
+		Object event = FlightRecorder.beginFrame();
+		dspConn.beginFrame();
+		UpdatePlanner.PlanType plan = null;
+		try {
+			plan = transmitWindows(frame, candidates);
+		} finally {
+			dspConn.endFrame();
+			if (event != null) {
+				FlightRecorder.endFrame(event, this, plan, updateWindows.size(), updateWindows.getTotalSize());
+			}
+		}
+	}
+
+	/**
+	 * @return The plan used - null if nothing changed.
+	 */
+	private UpdatePlanner.PlanType transmitWindows(byte[] frame, DirtyRegion candidates) throws IOException {
+		updatePlanner.setCostModel(dspConn.getTransferCostModel());
+		updatePlanner.setMaxTransferSize(getMaxTransferSize());
+
+		if (frameDiffing && shadowValid) {
+			frameDiff.setWindowOverhead(updatePlanner.getWindowOverhead());
+			frameDiff.collect(frame, shadowBuffer, candidates, updateWindows);
+		} else {
+			candidates.collectBands(updateWindows);
+		}
+		candidates.clear();
+		if (updateWindows.isEmpty()) {
+			// nothing changed
+			return null;
+		}
+
+		UpdatePlanner.PlanType plan = updatePlanner.plan(updateWindows, isPageAddressing());
+		long writeErrors = dspConn.getWriteErrors();
+		boolean sent = false;
+		beginTransaction();
+		try {
+			try {
+				for (int i = 0; i < updateWindows.size(); i++) {
+					UpdateWindow window = updateWindows.get(i);
+					if (plan == UpdatePlanner.PlanType.PAGE) {
+						writePageRows(frame, window);
+					} else {
+						setAddressWindow(window);
+						writeWindow(frame, window);
+					}
+				}
+
+				// Jump start scrolling again if new data is written while enabled
+				if(isScrolling()) {
+					noOp();
+				}
+			} finally {
+				commitTransaction();
+			}
+			// transports logging write errors instead of throwing
+			sent = dspConn.getWriteErrors() == writeErrors;
+		} finally {
+			if (!sent) {
+				// the address pointer stopped somewhere within the window
+				invalidateAddressWindow();
+				// send the windows again with the next frame
+				for (int i = 0; i < updateWindows.size(); i++) {
+					UpdateWindow window = updateWindows.get(i);
+					candidates.include(window.getColumnStart(), window.getColumnEnd(), window.getRowStart(), window.getRowEnd());
+				}
+				// the display RAM of the windows is unknown - do not diff against the shadow
+				shadowValid = false;
+			}
+		}
+
+		if (sent && frameDiffing) {
+			System.arraycopy(frame, 0, shadowBuffer, 0, shadowBuffer.length);
+			shadowValid = true;
+		}
+		return plan;
+	}
+
+	private void writePageRows(byte[] frame, UpdateWindow window) throws IOException {
+		// page addressing moves the address pointer independent of the window
+		invalidateAddressWindow();
+		int rowSize = getAddressColumns();
+		for (int page = window.getRowStart(); page <= window.getRowEnd(); page++) {
+			setPageAddress(page, window.getColumnStart());
+			writeChunked(frame, page * rowSize + window.getColumnStart(), window.getColumns());
+		}
+		// the pointer stopped after the last row, not at the start of a window
+		invalidateAddressWindow();
+	}
+
+	/**
+	 * Forget the address window, so it is set again before the next data is written.
+	 * <br/>
+	 * An unchanged window is only skipped while the address pointer is known to be back at its start,
+	 * which holds after the whole window has been written.
+	 */
+	protected void invalidateAddressWindow() {
+		controllerState.invalidate(ControllerState.Register.COLUMN_WINDOW);
+		controllerState.invalidate(ControllerState.Register.ROW_WINDOW);
+	}
+
+	/**
+	 * Get the shadow of the controller registers.
+	 *
+	 * @return The controller state, with counters of sent and skipped commands.
+	 */
+	public ControllerState getControllerState() {
+		return controllerState;
+	}
+
+	/**
+	 * Get the statistics of the plans chosen by display().
+	 *
+	 * @return The update statistics.
+	 */
+	public UpdateStatistics getUpdateStatistics() {
+		return updatePlanner.getStatistics();
+	}
+
+	/**
+	 * Get the width of the display.
+	 *
+	 * @return The display width in pixels.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the height of the display.
+	 *
+	 * @return The display height in pixels.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the display state.
+	 *
+	 * @return True if the display is on.
+	 */
+	public boolean isDisplayOn() {
+		return displayOn;
+	}
+
+	/**
+	 * Turn the display on or off.
+	 *
+	 * @param displayOn Whether to turn the display on.
+	 */
+	public void setDisplayOn(boolean displayOn) throws IOException {
+		if (controllerState.update(ControllerState.Register.DISPLAY_ON, displayOn ? 1 : 0)) {
+			command(displayOn ? commandset.DISPLAY_ON : commandset.DISPLAY_OFF);
+		}
+
+		this.displayOn = displayOn;
+	}
+	/**
+	 * Get the inverted state of the display.
+	 *
+	 * @return Whether the display is inverted or not.
+	 */
+	public boolean isInverted() {
+		return inverted;
+	}
+
+	/**
+	 * Invert the display.
+	 * When inverted, an "on" bit in the buffer results in an unlit pixel.
+	 *
+	 * @param inverted Whether to invert the display or return to normal.
+	 */
+	public void setInverted(boolean inverted) throws IOException {
+		if (controllerState.update(ControllerState.Register.INVERT, inverted ? 1 : 0)) {
+			command(inverted ? commandset.DISPLAY_MODE_INVERT : getNonInvertedDisplayMode());
+		}
+		this.inverted = inverted;
+	}
+
+	/**
+	 * Get the command returning from inverse to normal display.
+	 *
+	 * @return A6 - "normal display" on the SSD1306.
+	 */
+	protected int getNonInvertedDisplayMode() {
+		return commandset.DISPLAY_MODE_ALL_OFF;
+	}
+
+	/**
+	 * Get the display contrast.
+	 *
+	 * @return The current contrast level of the display.
+	 */
+	public int getContrast() {
+		return contrast;
+	}
+
+	/**
+	 * Set the display contrast.
+	 *
+	 * @param contrast The contrast to set, from 0 to 255.
+	 */
+	public void setContrast(int contrast) throws IOException {
+		if (contrast < 0 || contrast > 255) {
+			return;
+		}
+
+		if (controllerState.update(ControllerState.Register.CONTRAST, contrast)) {
+			command(commandset.SET_CONTRAST, contrast);
+		}
+		this.contrast = contrast;
+	}
+
+	/**
+	 * Get the display offset.
+	 *
+	 * @return The number of rows the display is offset by.
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Set the display offset.
+	 *
+	 * @param offset The number of rows to offset the display by.
+	 */
+	public void setOffset(int offset) throws IOException {
+		if (controllerState.update(ControllerState.Register.OFFSET, offset)) {
+			command(commandset.SET_DISPLAY_OFFSET, offset);
+		}
+		this.offset = offset;
+	}
+
+	/**
+	 * Get the scrolling state of the display.
+	 *
+	 * @return Whether the display is scrolling.
+	 */
+	public boolean isScrolling() {
+		return scrolling;
+	}
+
+	/**
+	 * Scroll the display horizontally.
+	 *
+	 * @param direction The direction to scroll, where a value of true results in the display scrolling to the left.
+	 * @param start The start page address, from 0 to 7.
+	 * @param end The end page address, from 0 to 7.
+	 * @param speed The scrolling speed (scroll step).
+	 *
+	 * @see Constant#SCROLL_STEP_5
+	 */
+	public void scrollHorizontally(boolean direction, int start, int end, int speed) throws IOException {
+		command(direction ? commandset.LEFT_HORIZONTAL_SCROLL : commandset.RIGHT_HORIZONTAL_SCROLL, Constant.DUMMY_BYTE_00, start, speed, end, Constant.DUMMY_BYTE_00, Constant.DUMMY_BYTE_FF);
+	}
+	/**
+	 * Scroll the display horizontally and vertically.
+	 *
+	 * @param direction The direction to scroll, where a value of true results in the display scrolling to the left.
+	 * @param start The start page address, from 0 to 7.
+	 * @param end The end page address, from 0 to 7.
+	 * @param offset The number of rows from the top to start the vertical scroll area at.
+	 * @param rows The number of rows in the vertical scroll area.
+	 * @param speed The scrolling speed (scroll step).
+	 * @param step The number of rows to scroll vertically each frame.
+	 *
+	 * @see Constant#SCROLL_STEP_5
+	 */
+	public void scrollDiagonally(boolean direction, int start, int end, int offset, int rows, int speed, int step) throws IOException {
+		beginTransaction();
+		try {
+			command(commandset.SET_VERTICAL_SCROLL_AREA, offset, rows);
+			command(direction ? commandset.VERTICAL_AND_LEFT_HORIZONTAL_SCROLL : commandset.VERTICAL_AND_RIGHT_HORIZONTAL_SCROLL, Constant.DUMMY_BYTE_00, start, speed, end, step);
+		} finally {
+			commitTransaction();
+		}
+	}
+	/**
+	 * Start scrolling the display.
+	 */
+	public void startScroll() throws IOException {
+		if (controllerState.update(ControllerState.Register.SCROLL, 1)) {
+			command(commandset.ACTIVATE_SCROLL);
+		}
+		scrolling = true;
+	}
+
+	/**
+	 * Stop scrolling the display.
+	 */
+	public void stopScroll() throws IOException {
+		if (controllerState.update(ControllerState.Register.SCROLL, 0)) {
+			command(commandset.DEACTIVATE_SCROLL);
+		}
+		scrolling = false;
+	}
+
+	/**
+	 * No operation.
+	 */
+	public void noOp() throws IOException {
+		command(commandset.NOOP);
+	}
+	/**
+	 * Get the horizontal flip state of the display.
+	 *
+	 * @return Whether the display is horizontally flipped.
+	 */
+	public boolean isHFlipped() {
+		return hFlipped;
+	}
+
+	/**
+	 * Flip the display horizontally.
+	 *
+	 * @param hFlipped Whether to flip the display or return to normal.
+	 */
+	public synchronized void setHFlipped(boolean hFlipped) throws IOException {
+		if (!controllerState.update(ControllerState.Register.SEGMENT_REMAP, hFlipped ? 1 : 0)) {
+			// no need to rewrite the display RAM
+			this.hFlipped = hFlipped;
+			return;
+		}
+		if(hFlipped) {
+			command(commandset.SET_SEGMENT_REMAP);
+		} else {
+			command(commandset.SET_SEGMENT_REMAP_REVERSE);
+		}
+
+		// Horizontal flipping is not immediate, the whole display RAM has to be rewritten -
+		// the frame itself is unchanged, so frame diffing would find nothing to send
+		shadowValid = false;
+		dirtyRegion.includeAll();
+		display();
+		this.hFlipped = hFlipped;
+	}
+
+	/**
+	 * Get the vertical flip state of the display.
+	 *
+	 * @return Whether the display is vertically flipped.
+	 */
+	public boolean isVFlipped() {
+		return vFlipped;
+	}
+
+	/**
+	 * Flip the display vertically.
+	 *
+	 * @param vFlipped Whether to flip the display or return to normal.
+	 */
+	public void setVFlipped(boolean vFlipped) throws IOException {
+		if (!controllerState.update(ControllerState.Register.COM_SCAN, vFlipped ? 1 : 0)) {
+			this.vFlipped = vFlipped;
+			return;
+		}
+		if (vFlipped) {
+			command(commandset.SET_COM_SCAN_INC);
+		} else {
+			command(commandset.SET_COM_SCAN_DEC);
+		}
+		this.vFlipped = vFlipped;
+	}
+
+	/**
+	 * Get a pixel in the buffer.
+	 *
+	 * @param x The X position of the pixel to set.
+	 * @param y The Y position of the pixel to set.
+	 *
+	 * @return False if the pixel is "off" or the given coordinates are out of bounds, true if the pixel is "on".
+	 */
+	public boolean getPixel(int x, int y) {
+		if(x < 0 || x >= width || y < 0 || y >= height) {
+			return false;
+		}
+
+		return (buffer[x + (y / 8) * width] & (1 << (y & 7))) != 0;
+	}
+
+	/**
+	 * Set a pixel in the buffer.
+	 *
+	 * @param x The X position of the pixel to set.
+	 * @param y The Y position of the pixel to set.
+	 * @param on Whether to turn this pixel on or off.
+	 *
+	 * @return False if the given coordinates are out of bounds.
+	 */
+	public abstract boolean setPixel(int x, int y, boolean on);
+
+	/**
+	 * Get the display buffer.
+	 * <br/>
+	 * If triple buffered this is the back buffer, which is exchanged by {@link #publishFrame()}.
+	 *
+	 * @return The display buffer.
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Set the display buffer.
+	 *
+	 * @param buffer The buffer to set.
+	 */
+	public void setBuffer(byte[] buffer) {
+		if (frameStore != null) {
+			// buffers are owned by the frame store
+			System.arraycopy(buffer, 0, this.buffer, 0, this.buffer.length);
+		} else {
+			this.buffer = buffer;
+		}
+		dirtyRegion.includeAll();
+	}
+
+	/**
+	 * Start collecting commands and data into one transaction of the connection.
+	 * <br/>
+	 * Transactions may be nested, only the outermost {@link #commitTransaction()} sends.
+	 */
+	protected synchronized void beginTransaction() {
+		if (transactionDepth++ == 0) {
+			transaction = dspConn.beginTransaction();
+		}
+	}
+
+	/**
+	 * Send the commands and data collected since the outermost {@link #beginTransaction()}.
+	 */
+	protected synchronized void commitTransaction() throws IOException {
+		if (--transactionDepth > 0) {
+			return;
+		}
+		try {
+			sendTransaction();
+		} finally {
+			transaction = null;
+		}
+	}
+
+	/**
+	 * Send what has been collected by the open transaction, which stays open.
+	 * The register shadow is invalidated if it does not reach the display.
+	 */
+	private void sendTransaction() throws IOException {
+		long writeErrors = dspConn.getWriteErrors();
+		boolean sent = false;
+		try {
+			transaction.commit();
+			sent = true;
+		} finally {
+			windowBufferUsed = 0;
+			if (!sent) {
+				sendFailed();
+			}
+		}
+		checkSent(writeErrors);
+	}
+
+	/**
+	 * Forget the controller registers after a failed write - the shadow may hold values never received.
+	 */
+	private void sendFailed() {
+		controllerState.invalidate();
+	}
+
+	/**
+	 * Transports logging write errors instead of throwing are checked by their error count.
+	 *
+	 * @param writeErrors The error count of the connection before the write.
+	 */
+	private void checkSent(long writeErrors) {
+		if (dspConn.getWriteErrors() != writeErrors) {
+			sendFailed();
+		}
+	}
+
+	/**
+	 * Send a command to the display - or add it to the open transaction.
+	 *
+	 * @param command The command to send.
+	 * @param params Any parameters the command requires.
+	 */
+	protected synchronized void command(int command, int... params) throws IOException {
+		if (transaction != null) {
+			transaction.command(command, params);
+		} else {
+			long writeErrors = dspConn.getWriteErrors();
+			try {
+				dspConn.command(command, params);
+			} catch (IOException | RuntimeException e) {
+				sendFailed();
+				throw e;
+			}
+			checkSent(writeErrors);
+		}
+	}
+
+	/**
+	 * Send a command without parameters - the fixed-arity variants avoid the varargs array.
+	 *
+	 * @param command The command to send.
+	 */
+	protected synchronized void command(int command) throws IOException {
+		if (transaction != null) {
+			transaction.command(command);
+		} else {
+			long writeErrors = dspConn.getWriteErrors();
+			try {
+				dspConn.command(command);
+			} catch (IOException | RuntimeException e) {
+				sendFailed();
+				throw e;
+			}
+			checkSent(writeErrors);
+		}
+	}
+
+	protected synchronized void command(int command, int param) throws IOException {
+		if (transaction != null) {
+			transaction.command(command, param);
+		} else {
+			long writeErrors = dspConn.getWriteErrors();
+			try {
+				dspConn.command(command, param);
+			} catch (IOException | RuntimeException e) {
+				sendFailed();
+				throw e;
+			}
+			checkSent(writeErrors);
+		}
+	}
+
+	protected synchronized void command(int command, int param1, int param2) throws IOException {
+		if (transaction != null) {
+			transaction.command(command, param1, param2);
+		} else {
+			long writeErrors = dspConn.getWriteErrors();
+			try {
+				dspConn.command(command, param1, param2);
+			} catch (IOException | RuntimeException e) {
+				sendFailed();
+				throw e;
+			}
+			checkSent(writeErrors);
+		}
+	}
+
+	/**
+	 * Send pixel data to the display - or add it to the open transaction.
+	 * The data must not be modified until the transaction is committed.
+	 *
+	 * @param data The data to send.
+	 * @param start The offset of the first byte to send.
+	 * @param len The number of bytes to send.
+	 */
+	protected synchronized void data(byte[] data, int start, int len) throws IOException {
+		if (transaction != null) {
+			transaction.data(data, start, len);
+		} else {
+			dspConn.data(data, start, len);
+		}
+	}
+
+	/**
+	 * Get the Graphics instance, creating it if necessary.
+	 *
+	 * @deprecated in use?!
+	 * @return The Graphics instance.
+	 */
+	public final com.github.display4j.core.Graphics getGraphics() {
+		if(graphics == null) {
+			graphics = new Graphics(this);
+		}
+
+		return graphics;
+	}
+
+	public DisplayConnection getDspConn() {
+		return dspConn;
+	}
+
+	/**
+	 * creates a new byte[] buffer dependent on display size and bits per pixel
+	 * (device specific)
+	 * @return
+	 */
+	public abstract byte[] getNewBuffer();
+
+	/**
+	 * Get the number of addressable columns, i.e. the number of bytes per address row in the buffer.
+	 * (device specific)
+	 */
+	public abstract int getAddressColumns();
+
+	/**
+	 * Get the number of addressable rows (pages on SSD1306).
+	 * (device specific)
+	 */
+	public abstract int getAddressRows();
+
+	/**
+	 * Set up the address window of the controller, so following data fills exactly this window.
+	 * (device specific)
+	 *
+	 * @param window The window to set.
+	 */
+	protected abstract void setAddressWindow(UpdateWindow window) throws IOException;
+
+	/**
+	 * Check whether the controller offers page addressing mode.
+	 * (device specific)
+	 *
+	 * Only then the planner chooses to write windows page by page.
+	 *
+	 * @return True if the controller has a page addressing mode.
+	 */
+	protected boolean isPageModeSupported() {
+		return false;
+	}
+
+	/**
+	 * Check whether the controller currently is in page addressing mode.
+	 *
+	 * @return True if in page addressing mode.
+	 */
+	protected boolean isPageAddressing() {
+		return false;
+	}
+
+	/**
+	 * Set up the controller, so following data is written to the page (address row) starting at the column.
+	 * (device specific)
+	 *
+	 * @param page The page to write to.
+	 * @param column The column to start at.
+	 */
+	protected abstract void setPageAddress(int page, int column) throws IOException;
+
+	/**
+	 * Get the maximum number of bytes to send with one data transfer.
+	 * Larger windows are split up. Declared (or calibrated) by the connection.
+	 *
+	 * @return The maximum transfer size in bytes.
+	 */
+	protected int getMaxTransferSize() {
+		return dspConn.getMaxTransferSize();
+	}
+
+	/**
+	 * Send the part of the frame covered by the window to the display.
+	 * The address window of the controller has to be set up before.
+	 *
+	 * @param frame The buffer to send from.
+	 * @param window The window to send.
+	 */
+	protected void writeWindow(byte[] frame, UpdateWindow window) throws IOException {
+		int rowSize = getAddressColumns();
+		if (window.getColumns() == rowSize || window.getRows() == 1) {
+			// contiguous in the buffer
+			writeChunked(frame, window.getRowStart() * rowSize + window.getColumnStart(), window.getSize());
+			return;
+		}
+
+		if (windowBuffer == null || windowBuffer.length < frame.length) {
+			windowBuffer = new byte[frame.length];
+		}
+		if (windowBufferUsed + window.getSize() > windowBuffer.length) {
+			// several frames in one transaction - the full buffer stays referenced by it, continue in a new one
+			windowBuffer = new byte[2 * windowBuffer.length];
+			windowBufferUsed = 0;
+		}
+		int start = windowBufferUsed;
+		for (int row = window.getRowStart(); row <= window.getRowEnd(); row++) {
+			System.arraycopy(frame, row * rowSize + window.getColumnStart(), windowBuffer, windowBufferUsed, window.getColumns());
+			windowBufferUsed += window.getColumns();
+		}
+		writeChunked(windowBuffer, start, windowBufferUsed - start);
+		if (transaction == null) {
+			windowBufferUsed = 0;
+		}
+	}
+
+	private void writeChunked(byte[] data, int start, int len) throws IOException {
+		int maxTransferSize = getMaxTransferSize();
+		while (len > 0) {
+			int chunk = Math.min(len, maxTransferSize);
+			data(data, start, chunk);
+			start += chunk;
+			len -= chunk;
+		}
+	}
+
+	/*public GpioController getGpio() {
+		return gpio;
+	}
+
+	public void setGpio(GpioController gpio) {
+		this.gpio = gpio;
+	}*/
+
+	public abstract int getColorBitsPerPixel();
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "{" +
+				"width=" + width +
+				", height=" + height +
+				", bitsPerPixel=" + getColorBitsPerPixel() +
+				'}';
+	}
+
+	public CommandSSD getCommandset() {
+		return new CommandSSD();
+	}
+
+	public abstract Graphics2D getGraphics2D();
+
+	public void rasterGraphics2DImage(boolean display) throws IOException {
+		Object event = FlightRecorder.beginRaster();
+		Raster r = bufferedImage.getRaster();
+		int sample = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				sample = r.getSample(x, y, 0);
+				setPixel(x, y, (sample > 0));
+			}
+		}
+		FlightRecorder.endRaster(event, this, width * height);
+
+		if (display) {
+			display();
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayTransaction;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * pre-encoded initialisation commands of a controller configuration
+ *
+ * Compiled once per controller, geometry and supply (see {@link #get(String, Supplier)}) and appended
+ * to the startup transaction as a whole, so a cold start costs one burst on the bus instead of a
+ * call per command. Besides the command bytes the sequence knows the register values it leaves
+ * behind, the controller shadow is primed with them after sending.
+ */
+public final class StartupSequence {
+    private static final ConcurrentMap<String, StartupSequence> sequences = new ConcurrentHashMap<>();
+
+    private final byte[] bytes;
+    /** start of every command in bytes, followed by the total length */
+    private final int[] commandStarts;
+
+    private final ControllerState.Register[] registers;
+    private final int[] values;
+
+    private StartupSequence(Builder builder) {
+        this.bytes = Arrays.copyOf(builder.bytes, builder.length);
+        this.commandStarts = Arrays.copyOf(builder.commandStarts, builder.commands + 1);
+        this.commandStarts[builder.commands] = builder.length;
+        this.registers = Arrays.copyOf(builder.registers, builder.registerCount);
+        this.values = Arrays.copyOf(builder.values, builder.registerCount);
+    }
+
+    /**
+     * @param key identifies the configuration - f.e. controller, width, height and supply
+     * @param compiler builds the sequence on first use of the key
+     * @return the sequence compiled for the key
+     */
+    public static StartupSequence get(String key, Supplier<StartupSequence> compiler) {
+        return sequences.computeIfAbsent(key, k -> compiler.get());
+    }
+
+    /**
+     * appends every command as a segment of its own
+     */
+    public void appendTo(DisplayTransaction transaction) {
+        for (int i = 0; i < getCommandCount(); i++) {
+            transaction.command(bytes, commandStarts[i], commandStarts[i + 1] - commandStarts[i]);
+        }
+    }
+
+    /**
+     * records the register values established by the sequence
+     */
+    public void applyTo(ControllerState controllerState) {
+        for (int i = 0; i < registers.length; i++) {
+            controllerState.assume(registers[i], values[i]);
+        }
+    }
+
+    public int getCommandCount() {
+        return commandStarts.length - 1;
+    }
+
+    /**
+     * @return number of command bytes (opcodes and parameters)
+     */
+    public int getLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupSequence{" +
+                "commands=" + getCommandCount() +
+                ", bytes=" + bytes.length +
+                '}';
+    }
+
+    /**
+     * collects the commands of a sequence
+     *
+     * <pre>
+     * new StartupSequence.Builder()
+     *         .command(commandset.DISPLAY_OFF).set(ControllerState.Register.DISPLAY_ON, 0)
+     *         .command(commandset.SET_CONTRAST, 0x7F).set(ControllerState.Register.CONTRAST, 0x7F)
+     *         .build();
+     * </pre>
+     */
+    public static class Builder {
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        private int[] commandStarts = new int[32];
+        private int commands;
+
+        private ControllerState.Register[] registers = new ControllerState.Register[ControllerState.Register.values().length];
+        private int[] values = new int[registers.length];
+        private int registerCount;
+
+        /**
+         * appends a command with its parameters
+         */
+        public Builder command(int command, int... params) {
+            if (length + params.length + 1 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + params.length + 1));
+            }
+            if (commands + 1 >= commandStarts.length) {
+                commandStarts = Arrays.copyOf(commandStarts, commandStarts.length * 2);
+            }
+            commandStarts[commands++] = length;
+            bytes[length++] = (byte) command;
+            for (int param : params) {
+                bytes[length++] = (byte) param;
+            }
+            return this;
+        }
+
+        /**
+         * declares the value a register holds after the sequence
+         */
+        public Builder set(ControllerState.Register register, int value) {
+            for (int i = 0; i < registerCount; i++) {
+                if (registers[i] == register) {
+                    values[i] = value;
+                    return this;
+                }
+            }
+            registers[registerCount] = register;
+            values[registerCount++] = value;
+            return this;
+        }
+
+        /**
+         * declares the value of a register pair (f.e. start and end address) after the sequence
+         */
+        public Builder set(ControllerState.Register register, int first, int second) {
+            return set(register, ControllerState.pack(first, second));
+        }
+
+        public StartupSequence build() {
+            return new StartupSequence(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.display4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * keeps the state of a display in a file, so a restarted process continues with the panel as it is
+ *
+ * <pre>
+ * WarmRestart warmRestart = new WarmRestart(display, Paths.get("/var/lib/myservice/display.state"));
+ * warmRestart.startup(false);         // resumes if possible, cold startup otherwise
+ * warmRestart.saveEvery(10, TimeUnit.SECONDS);
+ * warmRestart.saveOnExit();
+ * </pre>
+ *
+ * Registers and settings are saved periodically, the frame only when no more frames follow
+ * ({@link #close()} or exit of the JVM). After a crash the display is resumed without its frame,
+ * the first display() then sends the whole buffer - still without reset and blanking.
+ */
+public class WarmRestart implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WarmRestart.class);
+
+    private final SSDisplay display;
+    private final Path file;
+
+    private boolean resumed;
+
+    /** last state saved without frame - unchanged states are not written again */
+    private DisplayState saved;
+
+    private ScheduledExecutorService scheduler;
+    private Thread exitHook;
+
+    public WarmRestart(SSDisplay display, Path file) {
+        this.display = display;
+        this.file = file;
+    }
+
+    /**
+     * resumes the display from the file - or starts it up if the file is missing, damaged or
+     * belongs to another display or boot
+     *
+     * @return true if resumed
+     */
+    public synchronized boolean startup(boolean externalVcc) throws IOException {
+        DisplayState state = null;
+        try {
+            state = DisplayState.read(file);
+        } catch (IOException e) {
+            logger.warn("ignoring display state {}: {}", file, e.getMessage());
+        }
+
+        resumed = display.resume(state);
+        if (resumed) {
+            logger.info("resumed {} from {}", state, file);
+        } else {
+            display.startup(externalVcc);
+        }
+        // the persisted frame is not valid anymore once the next frame is sent
+        save();
+        return resumed;
+    }
+
+    /**
+     * @return true if the last {@link #startup(boolean)} resumed the display
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * saves registers and settings - without the frame, as more frames will follow
+     *
+     * @return false if the state did not change since the last save
+     */
+    public boolean save() throws IOException {
+        return save(false);
+    }
+
+    private synchronized boolean save(boolean last) throws IOException {
+        DisplayState state = display.getState();
+        if (!last && saved != null && state.hasSameSettings(saved)) {
+            return false;
+        }
+        state.write(file, last);
+        saved = last ? null : state;
+        return true;
+    }
+
+    /**
+     * saves registers and settings periodically on a daemon thread
+     */
+    public synchronized void saveEvery(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "display4j-warm-restart");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                save();
+            } catch (IOException e) {
+                logger.warn("saving display state to {} failed: {}", file, e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * saves the state including the frame when the JVM exits
+     */
+    public synchronized void saveOnExit() {
+        if (exitHook == null) {
+            exitHook = new Thread(() -> {
+                try {
+                    saveLast();
+                } catch (IOException e) {
+                    logger.warn("saving display state to {} failed: {}", file, e.getMessage());
+                }
+            }, "display4j-warm-restart-exit");
+            Runtime.getRuntime().addShutdownHook(exitHook);
+        }
+    }
+
+    /**
+     * stops saving and saves the state including the frame - no more frames must be sent afterwards
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (exitHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(exitHook);
+            } catch (IllegalStateException e) {
+                // already exiting - the hook saves
+                return;
+            }
+            exitHook = null;
+        }
+        saveLast();
+    }
+
+    private synchronized void saveLast() throws IOException {
+        // a periodic save must not replace the frame
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        save(true);
+    }
+
+    @Override
+    public String toString() {
+        return "WarmRestart{" +
+                "file=" + file +
+                ", resumed=" + resumed +
+                '}';
+    }
+}
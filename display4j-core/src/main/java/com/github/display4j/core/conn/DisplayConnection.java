@@ -0,0 +1,197 @@
+package com.github.display4j.core.conn;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * skeleton of basic DisplayConnection with no reference to GPIO / PI4J
+ *
+ * useful for debugging without PI4J
+ */
+public abstract class DisplayConnection {
+    private static final Logger logger = LoggerFactory.getLogger(DisplayConnection.class);
+
+    /**
+     * sends a command
+     *
+     * @param command
+     * @param params
+     */
+    abstract public void command(int command, int... params) throws IOException ;
+
+    private static final int[] NO_PARAMS = new int[0];
+
+    /**
+     * sends a command without parameters
+     *
+     * The fixed-arity variants delegate to {@link #command(int, int...)} by default - transports
+     * should override them to send frequent commands (address windows, pages) without a parameter array.
+     */
+    public void command(int command) throws IOException {
+        command(command, NO_PARAMS);
+    }
+
+    public void command(int command, int param) throws IOException {
+        command(command, new int[] {param});
+    }
+
+    public void command(int command, int param1, int param2) throws IOException {
+        command(command, new int[] {param1, param2});
+    }
+
+    /**
+     * sends data
+     *
+     * @param data
+     */
+    abstract public void data(byte[] data) throws IOException;
+
+    /** outputs parts of array */
+    abstract public void data(byte[] data, int start, int len) throws IOException;
+
+    /**
+     * the connection's (reused) transaction
+     */
+    private DisplayTransaction transaction;
+
+    private TransferCostModel transferCostModel = TransferCostModel.DEFAULT;
+
+    private int maxTransferSize = Integer.MAX_VALUE;
+
+    private TransportCalibration calibration;
+
+    /**
+     * to be incremented by transports on every failed bus write
+     */
+    protected long writeErrors;
+
+    /**
+     * starts collecting commands and data to be sent with as few bus transactions as possible
+     *
+     * @return the connection's transaction - emptied
+     */
+    public DisplayTransaction beginTransaction() {
+        if (transaction == null) {
+            transaction = new DisplayTransaction(this);
+        }
+        return transaction.reset();
+    }
+
+    /**
+     * sends the segments of a transaction - called by {@link DisplayTransaction#commit()}
+     *
+     * Replays every segment as single {@link #command(int, int...)} (or its fixed-arity variants) / {@link #data(byte[], int, int)}
+     * call by default. Transports able to combine segments should override this.
+     */
+    public void execute(DisplayTransaction transaction) throws IOException {
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            byte[] bytes = transaction.getSegmentData(i);
+            int start = transaction.getSegmentStart(i);
+            int len = transaction.getSegmentLength(i);
+            if (transaction.isCommand(i)) {
+                int command = bytes[start] & 0xFF;
+                switch (len) {
+                    case 1:
+                        command(command);
+                        break;
+                    case 2:
+                        command(command, bytes[start + 1] & 0xFF);
+                        break;
+                    case 3:
+                        command(command, bytes[start + 1] & 0xFF, bytes[start + 2] & 0xFF);
+                        break;
+                    default:
+                        int[] params = new int[len - 1];
+                        for (int p = 0; p < params.length; p++) {
+                            params[p] = bytes[start + 1 + p] & 0xFF;
+                        }
+                        command(command, params);
+                }
+            } else {
+                data(bytes, start, len);
+            }
+        }
+    }
+
+    /**
+     * cost model used to choose between different ways of sending an update -
+     * should be set by transports with a different per-transaction overhead
+     */
+    public TransferCostModel getTransferCostModel() {
+        return transferCostModel;
+    }
+
+    public void setTransferCostModel(TransferCostModel transferCostModel) {
+        this.transferCostModel = transferCostModel;
+    }
+
+    /**
+     * maximum number of payload bytes the transport can send with one data transfer -
+     * larger frames are split up by the display
+     */
+    public int getMaxTransferSize() {
+        return maxTransferSize;
+    }
+
+    /**
+     * @param maxTransferSize at least 1 byte
+     */
+    public void setMaxTransferSize(int maxTransferSize) {
+        if (maxTransferSize < 1) {
+            throw new IllegalArgumentException("maximum transfer size must be positive: " + maxTransferSize);
+        }
+        this.maxTransferSize = maxTransferSize;
+    }
+
+    /**
+     * @return number of failed bus writes - used to detect the maximum transfer size
+     */
+    public long getWriteErrors() {
+        return writeErrors;
+    }
+
+    /**
+     * @return result of the last {@link TransportCalibrator} run - null if not calibrated
+     */
+    public TransportCalibration getCalibration() {
+        return calibration;
+    }
+
+    /**
+     * applies a calibration result: maximum transfer size and measured cost model
+     */
+    public void setCalibration(TransportCalibration calibration) {
+        this.calibration = calibration;
+        setMaxTransferSize(calibration.getMaxTransferSize());
+        setTransferCostModel(calibration.toTransferCostModel(transferCostModel.getCommandBatching()));
+    }
+
+    /**
+     * called by the display before it sends a frame - transports may ignore it
+     */
+    public void beginFrame() {
+    }
+
+    /**
+     * called by the display after a frame has been sent (or sending failed)
+     */
+    public void endFrame() {
+    }
+
+    /**
+     * reset the display - should be overridden
+     */
+    public void reset() {
+        logger.warn("no reset implementation");
+    }
+
+    /**
+     * shutdown display (and IO?) - should be overridden
+     */
+    public void shutdown() {
+        logger.warn("no shutdown implementation");
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * accumulates commands and data segments to be sent to the display as few bus transactions as possible
+ *
+ * <pre>
+ * dspConn.beginTransaction()
+ *         .command(commandset.SET_COLUMN_ADDRESS, 0, 127)
+ *         .command(commandset.SET_PAGE_ADDRESS, 0, 7)
+ *         .data(buffer, 0, buffer.length)
+ *         .commit();
+ * </pre>
+ *
+ * Every command (opcode plus parameters) is kept as a segment of its own, the bytes of consecutive
+ * commands are contiguous in {@link #getCommandBytes()}, so transports can send them in one go.
+ * Data segments only reference the given arrays - they must not be modified until the transaction
+ * is committed.
+ * <br/>
+ * A connection reuses its transaction instance, so only one transaction can be open per connection.
+ */
+public class DisplayTransaction {
+    private final DisplayConnection dspConn;
+
+    private byte[] commandBytes = new byte[64];
+    private int commandLength;
+
+    private int segments;
+    /** null for command segments */
+    private byte[][] segmentData = new byte[16][];
+    private int[] segmentStart = new int[16];
+    private int[] segmentLength = new int[16];
+
+    private int dataLength;
+
+    public DisplayTransaction(DisplayConnection dspConn) {
+        this.dspConn = dspConn;
+    }
+
+    /**
+     * appends a command with its parameters
+     */
+    public DisplayTransaction command(int command, int... params) {
+        ensureCommandCapacity(params.length + 1);
+        int start = commandLength;
+        commandBytes[commandLength++] = (byte) command;
+        for (int param : params) {
+            commandBytes[commandLength++] = (byte) param;
+        }
+        addSegment(null, start, params.length + 1);
+        return this;
+    }
+
+    /**
+     * appends a command without parameters - the fixed-arity variants avoid the varargs array
+     */
+    public DisplayTransaction command(int command) {
+        ensureCommandCapacity(1);
+        commandBytes[commandLength] = (byte) command;
+        addSegment(null, commandLength++, 1);
+        return this;
+    }
+
+    public DisplayTransaction command(int command, int param) {
+        ensureCommandCapacity(2);
+        int start = commandLength;
+        commandBytes[commandLength++] = (byte) command;
+        commandBytes[commandLength++] = (byte) param;
+        addSegment(null, start, 2);
+        return this;
+    }
+
+    public DisplayTransaction command(int command, int param1, int param2) {
+        ensureCommandCapacity(3);
+        int start = commandLength;
+        commandBytes[commandLength++] = (byte) command;
+        commandBytes[commandLength++] = (byte) param1;
+        commandBytes[commandLength++] = (byte) param2;
+        addSegment(null, start, 3);
+        return this;
+    }
+
+    /**
+     * appends a command given as encoded bytes (opcode followed by its parameters) - f.e. a command
+     * segment of another transaction
+     */
+    public DisplayTransaction command(byte[] bytes, int start, int len) {
+        ensureCommandCapacity(len);
+        int commandStart = commandLength;
+        System.arraycopy(bytes, start, commandBytes, commandLength, len);
+        commandLength += len;
+        addSegment(null, commandStart, len);
+        return this;
+    }
+
+    /**
+     * appends a data segment (referenced, not copied)
+     */
+    public DisplayTransaction data(byte[] data, int start, int len) {
+        if (len > 0) {
+            addSegment(data, start, len);
+            dataLength += len;
+        }
+        return this;
+    }
+
+    /**
+     * sends all segments in order and resets the transaction
+     */
+    public void commit() throws IOException {
+        try {
+            if (segments > 0) {
+                dspConn.execute(this);
+            }
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * drops all segments
+     */
+    public DisplayTransaction reset() {
+        for (int i = 0; i < segments; i++) {
+            segmentData[i] = null;
+        }
+        segments = 0;
+        commandLength = 0;
+        dataLength = 0;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return segments == 0;
+    }
+
+    public int getSegmentCount() {
+        return segments;
+    }
+
+    public boolean isCommand(int segment) {
+        return segmentData[segment] == null;
+    }
+
+    /**
+     * @return the array holding the segment's bytes - {@link #getCommandBytes()} for commands
+     */
+    public byte[] getSegmentData(int segment) {
+        byte[] data = segmentData[segment];
+        return data == null ? commandBytes : data;
+    }
+
+    public int getSegmentStart(int segment) {
+        return segmentStart[segment];
+    }
+
+    public int getSegmentLength(int segment) {
+        return segmentLength[segment];
+    }
+
+    /**
+     * @return the bytes of all commands in order
+     */
+    public byte[] getCommandBytes() {
+        return commandBytes;
+    }
+
+    /**
+     * @return number of command bytes (opcodes and parameters)
+     */
+    public int getCommandLength() {
+        return commandLength;
+    }
+
+    /**
+     * @return number of data bytes
+     */
+    public int getDataLength() {
+        return dataLength;
+    }
+
+    private void ensureCommandCapacity(int len) {
+        if (commandLength + len > commandBytes.length) {
+            byte[] grown = new byte[Math.max(commandBytes.length * 2, commandLength + len)];
+            System.arraycopy(commandBytes, 0, grown, 0, commandLength);
+            commandBytes = grown;
+        }
+    }
+
+    private void addSegment(byte[] data, int start, int len) {
+        if (segments == segmentStart.length) {
+            int size = segments * 2;
+            byte[][] grownData = new byte[size][];
+            System.arraycopy(segmentData, 0, grownData, 0, segments);
+            segmentData = grownData;
+            int[] grownStart = new int[size];
+            System.arraycopy(segmentStart, 0, grownStart, 0, segments);
+            segmentStart = grownStart;
+            int[] grownLength = new int[size];
+            System.arraycopy(segmentLength, 0, grownLength, 0, segments);
+            segmentLength = grownLength;
+        }
+        segmentData[segments] = data;
+        segmentStart[segments] = start;
+        segmentLength[segments] = len;
+        segments++;
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayTransaction{" +
+                "segments=" + segments +
+                ", commandBytes=" + commandLength +
+                ", dataBytes=" + dataLength +
+                '}';
+    }
+}
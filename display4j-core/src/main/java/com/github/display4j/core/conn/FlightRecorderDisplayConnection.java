@@ -0,0 +1,82 @@
+package com.github.display4j.core.conn;
+
+import com.github.display4j.core.jfr.FlightRecorder;
+
+import java.io.IOException;
+
+/**
+ * emits a JFR event for every command, data transfer and transaction on the wrapped connection
+ *
+ * Events carry the type of the wrapped connection and the byte counts - see {@link FlightRecorder}.
+ */
+public class FlightRecorderDisplayConnection extends ForwardingDisplayConnection {
+    public FlightRecorderDisplayConnection(DisplayConnection delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public void command(int command, int... params) throws IOException {
+        Object event = FlightRecorder.beginCommand();
+        try {
+            delegate.command(command, params);
+        } finally {
+            FlightRecorder.endCommand(event, delegate, command, params.length + 1);
+        }
+    }
+
+    @Override
+    public void command(int command) throws IOException {
+        Object event = FlightRecorder.beginCommand();
+        try {
+            delegate.command(command);
+        } finally {
+            FlightRecorder.endCommand(event, delegate, command, 1);
+        }
+    }
+
+    @Override
+    public void command(int command, int param) throws IOException {
+        Object event = FlightRecorder.beginCommand();
+        try {
+            delegate.command(command, param);
+        } finally {
+            FlightRecorder.endCommand(event, delegate, command, 2);
+        }
+    }
+
+    @Override
+    public void command(int command, int param1, int param2) throws IOException {
+        Object event = FlightRecorder.beginCommand();
+        try {
+            delegate.command(command, param1, param2);
+        } finally {
+            FlightRecorder.endCommand(event, delegate, command, 3);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public void data(byte[] data, int start, int len) throws IOException {
+        Object event = FlightRecorder.beginData();
+        try {
+            delegate.data(data, start, len);
+        } finally {
+            FlightRecorder.endData(event, delegate, len);
+        }
+    }
+
+    @Override
+    public void execute(DisplayTransaction transaction) throws IOException {
+        Object event = FlightRecorder.beginTransaction();
+        try {
+            delegate.execute(transaction);
+        } finally {
+            FlightRecorder.endTransaction(event, delegate, transaction.getSegmentCount(),
+                    transaction.getCommandLength(), transaction.getDataLength());
+        }
+    }
+}
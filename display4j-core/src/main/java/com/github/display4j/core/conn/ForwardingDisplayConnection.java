@@ -0,0 +1,128 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * base for decorators adding behaviour to an existing connection
+ *
+ * Forwards every call to the wrapped connection - including cost model, maximum transfer size
+ * and write errors, so a display sees the transport's properties through the decorator.
+ * Transactions started on the decorator are committed through {@link #execute(DisplayTransaction)}
+ * of the decorator.
+ */
+public class ForwardingDisplayConnection extends DisplayConnection {
+    protected final DisplayConnection delegate;
+
+    public ForwardingDisplayConnection(DisplayConnection delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate connection must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the wrapped connection
+     */
+    public DisplayConnection getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void command(int command, int... params) throws IOException {
+        delegate.command(command, params);
+    }
+
+    /**
+     * the fixed-arity variants are forwarded as such, so the wrapped transport can send them without allocation -
+     * decorators override them together with {@link #command(int, int...)}
+     */
+    @Override
+    public void command(int command) throws IOException {
+        delegate.command(command);
+    }
+
+    @Override
+    public void command(int command, int param) throws IOException {
+        delegate.command(command, param);
+    }
+
+    @Override
+    public void command(int command, int param1, int param2) throws IOException {
+        delegate.command(command, param1, param2);
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        delegate.data(data);
+    }
+
+    @Override
+    public void data(byte[] data, int start, int len) throws IOException {
+        delegate.data(data, start, len);
+    }
+
+    @Override
+    public void execute(DisplayTransaction transaction) throws IOException {
+        delegate.execute(transaction);
+    }
+
+    @Override
+    public TransferCostModel getTransferCostModel() {
+        return delegate.getTransferCostModel();
+    }
+
+    @Override
+    public void setTransferCostModel(TransferCostModel transferCostModel) {
+        delegate.setTransferCostModel(transferCostModel);
+    }
+
+    @Override
+    public int getMaxTransferSize() {
+        return delegate.getMaxTransferSize();
+    }
+
+    @Override
+    public void setMaxTransferSize(int maxTransferSize) {
+        delegate.setMaxTransferSize(maxTransferSize);
+    }
+
+    @Override
+    public long getWriteErrors() {
+        return delegate.getWriteErrors() + writeErrors;
+    }
+
+    @Override
+    public TransportCalibration getCalibration() {
+        return delegate.getCalibration();
+    }
+
+    @Override
+    public void setCalibration(TransportCalibration calibration) {
+        delegate.setCalibration(calibration);
+    }
+
+    @Override
+    public void beginFrame() {
+        delegate.beginFrame();
+    }
+
+    @Override
+    public void endFrame() {
+        delegate.endFrame();
+    }
+
+    @Override
+    public void reset() {
+        delegate.reset();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + delegate + "}";
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * I2C multiplexer (TCA9548A-style) switching the downstream channel of devices sharing one address
+ *
+ * Remembers the selected channel, so selecting it again does not cause a bus write.
+ * Implementations only have to write the channel mask to the device.
+ * <br/>
+ * Callers must hold the multiplexer's monitor while selecting and using the channel -
+ * see {@link MultiplexedDisplayConnection}.
+ */
+public abstract class I2CMultiplexer {
+    public static final int NO_CHANNEL = -1;
+
+    private final int channelCount;
+
+    private int selectedChannel = NO_CHANNEL;
+
+    private long selects;
+    private long skippedSelects;
+
+    protected I2CMultiplexer(int channelCount) {
+        this.channelCount = channelCount;
+    }
+
+    /**
+     * writes the bit mask of enabled channels to the multiplexer
+     */
+    protected abstract void writeChannelMask(int mask) throws IOException;
+
+    /**
+     * connects the channel to the bus - no bus write if it is selected already
+     */
+    public synchronized void select(int channel) throws IOException {
+        if (channel < 0 || channel >= channelCount) {
+            throw new IllegalArgumentException("channel " + channel + " out of range 0.." + (channelCount - 1));
+        }
+        if (channel == selectedChannel) {
+            skippedSelects++;
+            return;
+        }
+        try {
+            writeChannelMask(1 << channel);
+            selectedChannel = channel;
+            selects++;
+        } catch (IOException e) {
+            // state of the multiplexer unknown
+            selectedChannel = NO_CHANNEL;
+            throw e;
+        }
+    }
+
+    /**
+     * disconnects all channels
+     */
+    public synchronized void deselect() throws IOException {
+        selectedChannel = NO_CHANNEL;
+        writeChannelMask(0);
+    }
+
+    /**
+     * forgets the selected channel, f.e. after the multiplexer has been reset or powered up again -
+     * the next select is written in any case
+     */
+    public synchronized void invalidate() {
+        selectedChannel = NO_CHANNEL;
+    }
+
+    /**
+     * @return the selected channel - {@link #NO_CHANNEL} if none or unknown
+     */
+    public synchronized int getSelectedChannel() {
+        return selectedChannel;
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * @return number of channel switches written to the multiplexer
+     */
+    public synchronized long getSelects() {
+        return selects;
+    }
+
+    /**
+     * @return number of selects of the already selected channel
+     */
+    public synchronized long getSkippedSelects() {
+        return skippedSelects;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getClass().getSimpleName() + "{" +
+                "selectedChannel=" + selectedChannel +
+                ", selects=" + selects +
+                ", skippedSelects=" + skippedSelects +
+                '}';
+    }
+}
@@ -0,0 +1,307 @@
+package com.github.display4j.core.conn;
+
+import com.github.display4j.core.misc.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * counts the calls on the wrapped connection and records their latency
+ *
+ * Every command, data transfer and transaction is timed into the call histogram, every frame
+ * sent by a display ({@link #beginFrame()} to {@link #endFrame()}) into the frame histogram.
+ * Comparing the bus time with the frame time and the time between frames shows how much
+ * of the frame budget is spent on the bus. Failures are thrown exceptions plus write errors
+ * counted by the transport.
+ *
+ * <pre>
+ * MetricsDisplayConnection metrics = new MetricsDisplayConnection(new DisplayConnectionI2C());
+ * metrics.registerMBean("status-panel");
+ * SSD1306 display = new SSD1306(metrics, 128, 64);
+ * </pre>
+ */
+public class MetricsDisplayConnection extends ForwardingDisplayConnection implements MetricsDisplayConnectionMBean {
+    public static final String JMX_DOMAIN = "com.github.display4j";
+
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder dataCalls = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder exceptions = new LongAdder();
+    private volatile long writeErrorsAtReset;
+
+    private final LatencyHistogram callLatency = new LatencyHistogram();
+    private final LatencyHistogram frameLatency = new LatencyHistogram();
+
+    private final ThreadLocal<long[]> frameStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    private ObjectName objectName;
+
+    public MetricsDisplayConnection(DisplayConnection delegate) {
+        super(delegate);
+        writeErrorsAtReset = delegate.getWriteErrors();
+    }
+
+    @Override
+    public void command(int command, int... params) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.command(command, params);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+            commands.increment();
+            bytes.add(params.length + 1);
+        }
+    }
+
+    @Override
+    public void command(int command) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.command(command);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+            commands.increment();
+            bytes.add(1);
+        }
+    }
+
+    @Override
+    public void command(int command, int param) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.command(command, param);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+            commands.increment();
+            bytes.add(2);
+        }
+    }
+
+    @Override
+    public void command(int command, int param1, int param2) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.command(command, param1, param2);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+            commands.increment();
+            bytes.add(3);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public void data(byte[] data, int start, int len) throws IOException {
+        long callStart = System.nanoTime();
+        try {
+            delegate.data(data, start, len);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - callStart);
+            dataCalls.increment();
+            bytes.add(len);
+        }
+    }
+
+    @Override
+    public void execute(DisplayTransaction transaction) throws IOException {
+        long start = System.nanoTime();
+        try {
+            delegate.execute(transaction);
+        } catch (IOException | RuntimeException e) {
+            exceptions.increment();
+            throw e;
+        } finally {
+            callLatency.record(System.nanoTime() - start);
+            transactions.increment();
+            bytes.add(transaction.getCommandLength() + transaction.getDataLength());
+        }
+    }
+
+    @Override
+    public void beginFrame() {
+        frameStart.get()[0] = System.nanoTime();
+        super.beginFrame();
+    }
+
+    @Override
+    public void endFrame() {
+        super.endFrame();
+        frameLatency.record(System.nanoTime() - frameStart.get()[0]);
+    }
+
+    /**
+     * @return latency of commands, data transfers and transactions
+     */
+    public LatencyHistogram getCallLatency() {
+        return callLatency;
+    }
+
+    /**
+     * @return latency of display() calls reaching the connection
+     */
+    public LatencyHistogram getFrameLatency() {
+        return frameLatency;
+    }
+
+    @Override
+    public long getCommands() {
+        return commands.sum();
+    }
+
+    @Override
+    public long getDataCalls() {
+        return dataCalls.sum();
+    }
+
+    @Override
+    public long getTransactions() {
+        return transactions.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return exceptions.sum() + delegate.getWriteErrors() - writeErrorsAtReset;
+    }
+
+    @Override
+    public long getFrames() {
+        return frameLatency.getCount();
+    }
+
+    @Override
+    public long getBusTimeMicros() {
+        return callLatency.getTotalNanos() / 1000;
+    }
+
+    @Override
+    public long getFrameTimeMicros() {
+        return frameLatency.getTotalNanos() / 1000;
+    }
+
+    @Override
+    public double getCallLatencyMeanMicros() {
+        return callLatency.getMeanNanos() / 1e3;
+    }
+
+    @Override
+    public double getCallLatencyP50Micros() {
+        return callLatency.getPercentileNanos(50) / 1e3;
+    }
+
+    @Override
+    public double getCallLatencyP99Micros() {
+        return callLatency.getPercentileNanos(99) / 1e3;
+    }
+
+    @Override
+    public double getCallLatencyMaxMicros() {
+        return callLatency.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public double getFrameLatencyMeanMicros() {
+        return frameLatency.getMeanNanos() / 1e3;
+    }
+
+    @Override
+    public double getFrameLatencyP50Micros() {
+        return frameLatency.getPercentileNanos(50) / 1e3;
+    }
+
+    @Override
+    public double getFrameLatencyP99Micros() {
+        return frameLatency.getPercentileNanos(99) / 1e3;
+    }
+
+    @Override
+    public double getFrameLatencyMaxMicros() {
+        return frameLatency.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public void resetMetrics() {
+        commands.reset();
+        dataCalls.reset();
+        transactions.reset();
+        bytes.reset();
+        exceptions.reset();
+        writeErrorsAtReset = delegate.getWriteErrors();
+        callLatency.reset();
+        frameLatency.reset();
+    }
+
+    /**
+     * registers the metrics with the platform MBean server as
+     * {@code com.github.display4j:type=DisplayConnection,name=<name>}
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        unregisterMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=DisplayConnection,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * unregisters the MBean and shuts down the wrapped connection
+     */
+    @Override
+    public void shutdown() {
+        try {
+            unregisterMBean();
+        } catch (JMException e) {
+            // nothing left to clean up
+        }
+        super.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsDisplayConnection{" +
+                "delegate=" + delegate +
+                ", commands=" + getCommands() +
+                ", dataCalls=" + getDataCalls() +
+                ", transactions=" + getTransactions() +
+                ", bytes=" + getBytes() +
+                ", failures=" + getFailures() +
+                ", calls=" + callLatency +
+                ", frames=" + frameLatency +
+                '}';
+    }
+}
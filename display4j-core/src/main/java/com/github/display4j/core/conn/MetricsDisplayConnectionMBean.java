@@ -0,0 +1,40 @@
+package com.github.display4j.core.conn;
+
+/**
+ * JMX view of a {@link MetricsDisplayConnection} - latencies in microseconds
+ */
+public interface MetricsDisplayConnectionMBean {
+    long getCommands();
+
+    long getDataCalls();
+
+    long getTransactions();
+
+    long getBytes();
+
+    long getFailures();
+
+    long getFrames();
+
+    long getBusTimeMicros();
+
+    long getFrameTimeMicros();
+
+    double getCallLatencyMeanMicros();
+
+    double getCallLatencyP50Micros();
+
+    double getCallLatencyP99Micros();
+
+    double getCallLatencyMaxMicros();
+
+    double getFrameLatencyMeanMicros();
+
+    double getFrameLatencyP50Micros();
+
+    double getFrameLatencyP99Micros();
+
+    double getFrameLatencyMaxMicros();
+
+    void resetMetrics();
+}
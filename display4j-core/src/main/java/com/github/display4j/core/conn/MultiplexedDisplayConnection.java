@@ -0,0 +1,103 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * connection to a display behind an {@link I2CMultiplexer} channel
+ *
+ * Selects the channel before every command, data transfer and transaction. The multiplexer skips
+ * selects of the channel already connected, so consecutive transfers to the same display cost no
+ * extra bus write.
+ *
+ * <pre>
+ * I2CMultiplexer mux = new TCA9548A(I2CBus.BUS_1, 0x70);
+ * SSD1306 left = new SSD1306(new MultiplexedDisplayConnection(mux, 0, new DisplayConnectionI2C(I2CBus.BUS_1, 0x3C)), 128, 64);
+ * SSD1306 right = new SSD1306(new MultiplexedDisplayConnection(mux, 1, new DisplayConnectionI2C(I2CBus.BUS_1, 0x3C)), 128, 64);
+ * </pre>
+ */
+public class MultiplexedDisplayConnection extends ForwardingDisplayConnection {
+    private final I2CMultiplexer mux;
+
+    private final int channel;
+
+    public MultiplexedDisplayConnection(I2CMultiplexer mux, int channel, DisplayConnection delegate) {
+        super(delegate);
+        if (channel < 0 || channel >= mux.getChannelCount()) {
+            throw new IllegalArgumentException("channel " + channel + " out of range 0.." + (mux.getChannelCount() - 1));
+        }
+        this.mux = mux;
+        this.channel = channel;
+    }
+
+    public I2CMultiplexer getMultiplexer() {
+        return mux;
+    }
+
+    public int getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void command(int command, int... params) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.command(command, params);
+        }
+    }
+
+    @Override
+    public void command(int command) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.command(command);
+        }
+    }
+
+    @Override
+    public void command(int command, int param) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.command(command, param);
+        }
+    }
+
+    @Override
+    public void command(int command, int param1, int param2) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.command(command, param1, param2);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.data(data);
+        }
+    }
+
+    @Override
+    public void data(byte[] data, int start, int len) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.data(data, start, len);
+        }
+    }
+
+    @Override
+    public void execute(DisplayTransaction transaction) throws IOException {
+        synchronized (mux) {
+            mux.select(channel);
+            delegate.execute(transaction);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MultiplexedDisplayConnection{" +
+                "channel=" + channel +
+                ", delegate=" + delegate +
+                '}';
+    }
+}
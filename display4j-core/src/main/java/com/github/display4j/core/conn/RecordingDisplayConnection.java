@@ -0,0 +1,221 @@
+package com.github.display4j.core.conn;
+
+import com.github.display4j.core.trace.TraceFormat;
+import com.github.display4j.core.trace.TraceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * records every call with timestamp and duration into a binary trace file - see {@link TraceFormat}
+ *
+ * Calls are passed on to the wrapped connection unchanged. A failure writing the trace stops the
+ * recording but not the display.
+ *
+ * <pre>
+ * RecordingDisplayConnection recorder = new RecordingDisplayConnection(new DisplayConnectionI2C(), Paths.get("display.trace"));
+ * SSD1306 display = new SSD1306(recorder, 128, 64);
+ * ...
+ * recorder.close();
+ * </pre>
+ */
+public class RecordingDisplayConnection extends ForwardingDisplayConnection implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingDisplayConnection.class);
+
+    private TraceWriter writer;
+
+    /** opcode and parameters of the fixed-arity commands */
+    private final byte[] commandBytes = new byte[3];
+
+    /** records of the closed trace */
+    private long closedRecords;
+
+    public RecordingDisplayConnection(DisplayConnection delegate, Path file) throws IOException {
+        this(delegate, new TraceWriter(file));
+    }
+
+    public RecordingDisplayConnection(DisplayConnection delegate, TraceWriter writer) {
+        super(delegate);
+        this.writer = writer;
+    }
+
+    @Override
+    public synchronized void command(int command, int... params) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.command(command, params);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.writeCommand(timestamp, writer.timestamp() - timestamp, command, params);
+                } catch (IOException e) {
+                    stopRecording(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void command(int command) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.command(command);
+        } finally {
+            commandBytes[0] = (byte) command;
+            record(TraceFormat.COMMAND, timestamp, commandBytes, 0, 1);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.command(command, param);
+        } finally {
+            commandBytes[0] = (byte) command;
+            commandBytes[1] = (byte) param;
+            record(TraceFormat.COMMAND, timestamp, commandBytes, 0, 2);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.command(command, param1, param2);
+        } finally {
+            commandBytes[0] = (byte) command;
+            commandBytes[1] = (byte) param1;
+            commandBytes[2] = (byte) param2;
+            record(TraceFormat.COMMAND, timestamp, commandBytes, 0, 3);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.data(data, start, len);
+        } finally {
+            record(TraceFormat.DATA, timestamp, data, start, len);
+        }
+    }
+
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) throws IOException {
+        long timestamp = timestamp();
+        try {
+            delegate.execute(transaction);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.write(TraceFormat.TRANSACTION_BEGIN, timestamp, 0);
+                    for (int i = 0; i < transaction.getSegmentCount(); i++) {
+                        byte type = transaction.isCommand(i) ? TraceFormat.COMMAND : TraceFormat.DATA;
+                        writer.write(type, timestamp, 0, transaction.getSegmentData(i),
+                                transaction.getSegmentStart(i), transaction.getSegmentLength(i));
+                    }
+                    writer.write(TraceFormat.TRANSACTION_END, timestamp, writer.timestamp() - timestamp);
+                } catch (IOException e) {
+                    stopRecording(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        long timestamp = timestamp();
+        try {
+            delegate.reset();
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.write(TraceFormat.RESET, timestamp, writer.timestamp() - timestamp);
+                } catch (IOException e) {
+                    stopRecording(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * shuts down the wrapped connection and closes the trace
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        try {
+            close();
+        } catch (IOException e) {
+            logger.error("Exception closing trace: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * writes buffered records to the file
+     */
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * @return number of records written - calls are passed on without recording after the trace has been closed
+     */
+    public synchronized long getRecords() {
+        return writer == null ? closedRecords : writer.getRecords();
+    }
+
+    public synchronized boolean isRecording() {
+        return writer != null;
+    }
+
+    /**
+     * stops recording and closes the trace file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            TraceWriter closing = writer;
+            closedRecords = closing.getRecords();
+            writer = null;
+            closing.close();
+        }
+    }
+
+    private long timestamp() {
+        return writer == null ? 0 : writer.timestamp();
+    }
+
+    private void record(byte type, long timestamp, byte[] data, int start, int len) {
+        if (writer != null) {
+            try {
+                writer.write(type, timestamp, writer.timestamp() - timestamp, data, start, len);
+            } catch (IOException e) {
+                stopRecording(e);
+            }
+        }
+    }
+
+    private void stopRecording(IOException e) {
+        logger.error("Exception writing trace - recording stopped: {}", e.getMessage());
+        TraceWriter failed = writer;
+        closedRecords = failed.getRecords();
+        writer = null;
+        try {
+            failed.close();
+        } catch (IOException ignored) {
+            // already failed
+        }
+    }
+}
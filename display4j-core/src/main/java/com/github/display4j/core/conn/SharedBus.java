@@ -0,0 +1,210 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * coordinates several displays sharing one bus
+ *
+ * Every connection on the bus is attached once, the display then uses the returned
+ * {@link SharedBusConnection}. Bus access is granted per slice: a command, or a data transfer
+ * of at most {@link #getSliceSize()} bytes together with the commands preceding it.
+ * Waiting connections are served by priority, connections of the same priority in arrival order -
+ * so a large frame (f.e. a greyscale SSD1327) is interleaved with the updates of small panels
+ * instead of blocking them for the whole frame.
+ *
+ * <pre>
+ * SharedBus bus = SharedBus.getInstance(I2CBus.BUS_1);
+ * SSD1327 big = new SSD1327(bus.attach(new DisplayConnectionI2C(I2CBus.BUS_1, 0x3D)), 128, 128);
+ * SSD1306 status = new SSD1306(bus.attach(new DisplayConnectionI2C(I2CBus.BUS_1, 0x3C), 1), 128, 32);
+ * </pre>
+ */
+public class SharedBus {
+    private static final Map<Integer, SharedBus> buses = new HashMap<>();
+
+    public static final int DEFAULT_SLICE_SIZE = 1024;
+
+    private final int busId;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final PriorityQueue<SharedBusConnection> waiting = new PriorityQueue<>(
+            Comparator.comparingInt((SharedBusConnection c) -> -c.getPriority())
+                    .thenComparingLong(c -> c.ticket));
+
+    private final List<SharedBusConnection> connections = new ArrayList<>();
+
+    private SharedBusConnection owner;
+    private long ticket;
+    private long grantedAt;
+
+    private final long createdAt = System.nanoTime();
+    private long busyNanos;
+
+    private volatile int sliceSize = DEFAULT_SLICE_SIZE;
+
+    /**
+     * @return the coordinator of the bus - created on first use
+     */
+    public static SharedBus getInstance(int busId) {
+        synchronized (buses) {
+            return buses.computeIfAbsent(busId, SharedBus::new);
+        }
+    }
+
+    public SharedBus(int busId) {
+        this.busId = busId;
+    }
+
+    public int getBusId() {
+        return busId;
+    }
+
+    /**
+     * attaches a connection with default priority 0
+     */
+    public SharedBusConnection attach(DisplayConnection dspConn) {
+        return attach(dspConn, 0);
+    }
+
+    /**
+     * @param priority waiting connections with higher priority get the bus first
+     * @return the connection to be used by the display
+     */
+    public SharedBusConnection attach(DisplayConnection dspConn, int priority) {
+        SharedBusConnection conn = new SharedBusConnection(this, dspConn, priority);
+        lock.lock();
+        try {
+            connections.add(conn);
+        } finally {
+            lock.unlock();
+        }
+        return conn;
+    }
+
+    /**
+     * removes a connection - called by {@link SharedBusConnection#shutdown()}
+     */
+    public void detach(SharedBusConnection conn) {
+        lock.lock();
+        try {
+            connections.remove(conn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<SharedBusConnection> getConnections() {
+        lock.lock();
+        try {
+            return new ArrayList<>(connections);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * maximum number of data bytes sent without giving other connections a chance to use the bus
+     */
+    public int getSliceSize() {
+        return sliceSize;
+    }
+
+    public void setSliceSize(int sliceSize) {
+        if (sliceSize < 1) {
+            throw new IllegalArgumentException("slice size must be positive");
+        }
+        this.sliceSize = sliceSize;
+    }
+
+    /**
+     * blocks until the connection is the next to use the bus
+     */
+    void acquire(SharedBusConnection conn) throws IOException {
+        lock.lock();
+        try {
+            long waitStart = System.nanoTime();
+            conn.ticket = ticket++;
+            waiting.add(conn);
+            try {
+                while (owner != null || waiting.peek() != conn) {
+                    released.await();
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(conn);
+                released.signalAll();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting for bus " + busId);
+            }
+            waiting.poll();
+            owner = conn;
+            grantedAt = System.nanoTime();
+            conn.waitNanos += grantedAt - waitStart;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(SharedBusConnection conn, int bytes) {
+        lock.lock();
+        try {
+            long held = System.nanoTime() - grantedAt;
+            busyNanos += held;
+            conn.busyNanos += held;
+            conn.slices++;
+            conn.bytes += bytes;
+            owner = null;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return total time the bus was held by any connection
+     */
+    public long getBusyNanos() {
+        lock.lock();
+        try {
+            return busyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return share of the time since the coordinator was created the connection held the bus (0..1)
+     */
+    public double getOccupancy(SharedBusConnection conn) {
+        long elapsed = System.nanoTime() - createdAt;
+        return elapsed <= 0 ? 0 : (double) conn.getBusyNanos() / elapsed;
+    }
+
+    /**
+     * @return share of the time since the coordinator was created the bus was held at all (0..1)
+     */
+    public double getOccupancy() {
+        long elapsed = System.nanoTime() - createdAt;
+        return elapsed <= 0 ? 0 : (double) getBusyNanos() / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SharedBus{busId=").append(busId)
+                .append(", occupancy=").append(String.format("%.3f", getOccupancy()));
+        for (SharedBusConnection conn : getConnections()) {
+            sb.append(", ").append(conn.getDelegate())
+                    .append("=").append(String.format("%.3f", getOccupancy(conn)));
+        }
+        return sb.append('}').toString();
+    }
+}
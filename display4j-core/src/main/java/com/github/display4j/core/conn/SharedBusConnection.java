@@ -0,0 +1,182 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * connection attached to a {@link SharedBus} - waits for its turn before every bus access
+ *
+ * Transactions are split into slices of at most {@link SharedBus#getSliceSize()} data bytes,
+ * the commands preceding a data segment are sent with its first slice.
+ */
+public class SharedBusConnection extends ForwardingDisplayConnection {
+    private final SharedBus bus;
+
+    private final int priority;
+
+    /** position in the bus queue - guarded by the bus */
+    long ticket;
+
+    // written by the bus while holding its lock
+    volatile long waitNanos;
+    volatile long busyNanos;
+    volatile long slices;
+    volatile long bytes;
+
+    SharedBusConnection(SharedBus bus, DisplayConnection delegate, int priority) {
+        super(delegate);
+        this.bus = bus;
+        this.priority = priority;
+    }
+
+    public SharedBus getBus() {
+        return bus;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public synchronized void command(int command, int... params) throws IOException {
+        bus.acquire(this);
+        try {
+            delegate.command(command, params);
+        } finally {
+            bus.release(this, params.length + 1);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command) throws IOException {
+        bus.acquire(this);
+        try {
+            delegate.command(command);
+        } finally {
+            bus.release(this, 1);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param) throws IOException {
+        bus.acquire(this);
+        try {
+            delegate.command(command, param);
+        } finally {
+            bus.release(this, 2);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) throws IOException {
+        bus.acquire(this);
+        try {
+            delegate.command(command, param1, param2);
+        } finally {
+            bus.release(this, 3);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) throws IOException {
+        int sliceSize = bus.getSliceSize();
+        for (int offset = 0; offset < len; offset += sliceSize) {
+            int sliceLen = Math.min(sliceSize, len - offset);
+            bus.acquire(this);
+            try {
+                delegate.data(data, start + offset, sliceLen);
+            } finally {
+                bus.release(this, sliceLen);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) throws IOException {
+        int sliceSize = bus.getSliceSize();
+        DisplayTransaction slice = delegate.beginTransaction();
+        try {
+            for (int i = 0; i < transaction.getSegmentCount(); i++) {
+                byte[] bytes = transaction.getSegmentData(i);
+                int start = transaction.getSegmentStart(i);
+                int len = transaction.getSegmentLength(i);
+                if (transaction.isCommand(i)) {
+                    slice.command(bytes, start, len);
+                    continue;
+                }
+                for (int offset = 0; offset < len; offset += sliceSize) {
+                    slice.data(bytes, start + offset, Math.min(sliceSize, len - offset));
+                    commitSlice(slice);
+                }
+            }
+            if (!slice.isEmpty()) {
+                commitSlice(slice);
+            }
+        } finally {
+            slice.reset();
+        }
+    }
+
+    private void commitSlice(DisplayTransaction slice) throws IOException {
+        int bytes = slice.getCommandLength() + slice.getDataLength();
+        bus.acquire(this);
+        try {
+            slice.commit();
+        } finally {
+            bus.release(this, bytes);
+        }
+    }
+
+    /**
+     * detaches from the bus and shuts down the wrapped connection
+     */
+    @Override
+    public void shutdown() {
+        bus.detach(this);
+        super.shutdown();
+    }
+
+    /**
+     * @return total time spent waiting for the bus
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * @return total time the connection held the bus
+     */
+    public long getBusyNanos() {
+        return busyNanos;
+    }
+
+    /**
+     * @return number of times the bus was granted
+     */
+    public long getSlices() {
+        return slices;
+    }
+
+    /**
+     * @return command and data bytes sent
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedBusConnection{" +
+                "delegate=" + delegate +
+                ", priority=" + priority +
+                ", slices=" + slices +
+                ", bytes=" + bytes +
+                ", waitNanos=" + waitNanos +
+                ", busyNanos=" + busyNanos +
+                '}';
+    }
+}
@@ -0,0 +1,342 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * headless connection charging every call the time a modelled I2C / SPI link would need
+ *
+ * A transaction of n payload bytes takes
+ * <pre>
+ * setupLatency + (framingBytes + n) * bitsPerByte / clockRate
+ * </pre>
+ * Commands of a {@link DisplayTransaction} are combined the way the modelled transport does
+ * (see {@link TransferCostModel.CommandBatching}). Data transfers larger than the maximum transfer size
+ * fail like on the real bus - they are counted as write error and dropped, also from a transaction passed on to the target.
+ * <br/>
+ * With a virtual clock the time is only accumulated (see {@link #getBusNanos()}), with a real clock
+ * every call also takes that long. Calls can be passed on to a target, f.e. a controller emulator.
+ *
+ * <pre>
+ * SimulatedBusConnection bus = SimulatedBusConnection.i2c(400_000);
+ * SSD1306 display = new SSD1306(bus, 128, 64);
+ * ...
+ * System.out.println(bus.getBusNanos());
+ * </pre>
+ */
+public class SimulatedBusConnection extends DisplayConnection {
+    public enum Clock {
+        /** time is only accounted */
+        VIRTUAL,
+        /** calls block for the modelled time */
+        REAL
+    }
+
+    /**
+     * rough driver call latency of Linux i2c-dev - calibrate a real connection for exact figures
+     */
+    public static final long DEFAULT_I2C_SETUP_NANOS = 30_000;
+
+    /**
+     * rough driver call latency of Linux spidev including the D/C toggle
+     */
+    public static final long DEFAULT_SPI_SETUP_NANOS = 10_000;
+
+    public static final int DEFAULT_MAX_TRANSFER_SIZE = 4096;
+
+    private final long clockRate;
+    private final int bitsPerByte;
+    private final int framingBytes;
+    private final long setupNanos;
+
+    private Clock clock = Clock.VIRTUAL;
+
+    private DisplayConnection target;
+
+    /** the segments of a transaction passed on to the target when a data transfer failed */
+    private DisplayTransaction delivered;
+
+    private long transactions;
+    private long bytes;
+    private long busNanos;
+
+    /**
+     * I2C: 8 bits plus ACK per byte, address and control byte per transaction, commands inlined
+     */
+    public static SimulatedBusConnection i2c(long clockRate) {
+        return new SimulatedBusConnection(clockRate, 9, 2, DEFAULT_I2C_SETUP_NANOS,
+                DEFAULT_MAX_TRANSFER_SIZE, TransferCostModel.CommandBatching.INLINE);
+    }
+
+    /**
+     * 4-wire SPI: 8 bits per byte, no framing, commands sent separately with D/C low
+     */
+    public static SimulatedBusConnection spi(long clockRate) {
+        return new SimulatedBusConnection(clockRate, 8, 0, DEFAULT_SPI_SETUP_NANOS,
+                DEFAULT_MAX_TRANSFER_SIZE, TransferCostModel.CommandBatching.SEPARATE);
+    }
+
+    /**
+     * @param clockRate bus clock in Hz
+     * @param bitsPerByte clock cycles per byte including acknowledge / gaps
+     * @param framingBytes bytes added to every transaction (address, control byte)
+     * @param setupNanos fixed latency of every transaction (driver call, start / stop condition)
+     * @param maxTransferSize largest data transfer accepted
+     * @param commandBatching how commands of a transaction are sent
+     */
+    public SimulatedBusConnection(long clockRate, int bitsPerByte, int framingBytes, long setupNanos,
+                                  int maxTransferSize, TransferCostModel.CommandBatching commandBatching) {
+        if (clockRate <= 0 || bitsPerByte <= 0) {
+            throw new IllegalArgumentException("clock rate and bits per byte must be positive");
+        }
+        this.clockRate = clockRate;
+        this.bitsPerByte = bitsPerByte;
+        this.framingBytes = framingBytes;
+        this.setupNanos = setupNanos;
+        setMaxTransferSize(maxTransferSize);
+
+        int overhead = (int) Math.round(setupNanos / getByteNanos()) + framingBytes;
+        setTransferCostModel(new TransferCostModel(overhead, commandBatching));
+    }
+
+    /**
+     * @return time to clock one byte over the bus
+     */
+    public double getByteNanos() {
+        return bitsPerByte * 1e9 / clockRate;
+    }
+
+    /**
+     * @return modelled duration of one transaction carrying len payload bytes
+     */
+    public long getTransactionNanos(int len) {
+        return setupNanos + (long) ((framingBytes + len) * getByteNanos());
+    }
+
+    @Override
+    public synchronized void command(int command, int... params) throws IOException {
+        transfer(params.length + 1);
+        if (target != null) {
+            target.command(command, params);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command) throws IOException {
+        transfer(1);
+        if (target != null) {
+            target.command(command);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param) throws IOException {
+        transfer(2);
+        if (target != null) {
+            target.command(command, param);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) throws IOException {
+        transfer(3);
+        if (target != null) {
+            target.command(command, param1, param2);
+        }
+    }
+
+    @Override
+    public void data(byte[] data) throws IOException {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) throws IOException {
+        if (len > getMaxTransferSize()) {
+            writeErrors++;
+            transfer(0);
+            return;
+        }
+        transfer(len);
+        if (target != null) {
+            target.data(data, start, len);
+        }
+    }
+
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) throws IOException {
+        TransferCostModel.CommandBatching batching = getTransferCostModel().getCommandBatching();
+        int commandBytes = 0;
+        boolean rejected = false;
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            int len = transaction.getSegmentLength(i);
+            if (transaction.isCommand(i)) {
+                if (batching == TransferCostModel.CommandBatching.NONE) {
+                    transfer(len);
+                } else {
+                    commandBytes += len;
+                }
+                continue;
+            }
+            if (len > getMaxTransferSize()) {
+                writeErrors++;
+                transfer(0);
+                commandBytes = 0;
+                rejected = true;
+                continue;
+            }
+            if (batching == TransferCostModel.CommandBatching.INLINE) {
+                // control byte per command byte, riding in the data write
+                transfer(2 * commandBytes + len);
+            } else {
+                if (commandBytes > 0) {
+                    transfer(commandBytes);
+                }
+                transfer(len);
+            }
+            commandBytes = 0;
+        }
+        if (commandBytes > 0) {
+            transfer(commandBytes);
+        }
+
+        if (target == null) {
+            return;
+        }
+        if (!rejected) {
+            target.execute(transaction);
+            return;
+        }
+        try {
+            target.execute(delivered(transaction, batching));
+        } finally {
+            delivered.reset();
+        }
+    }
+
+    /**
+     * @return the transaction without the dropped data segments - and without the commands riding in their write
+     */
+    private DisplayTransaction delivered(DisplayTransaction transaction, TransferCostModel.CommandBatching batching) {
+        if (delivered == null) {
+            delivered = new DisplayTransaction(this);
+        }
+        int commands = 0;
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            if (transaction.isCommand(i)) {
+                continue;
+            }
+            int len = transaction.getSegmentLength(i);
+            boolean dropped = len > getMaxTransferSize();
+            if (!dropped || batching != TransferCostModel.CommandBatching.INLINE) {
+                appendCommands(transaction, commands, i);
+            }
+            if (!dropped) {
+                delivered.data(transaction.getSegmentData(i), transaction.getSegmentStart(i), len);
+            }
+            commands = i + 1;
+        }
+        appendCommands(transaction, commands, transaction.getSegmentCount());
+        return delivered;
+    }
+
+    private void appendCommands(DisplayTransaction transaction, int from, int to) {
+        for (int i = from; i < to; i++) {
+            delivered.command(transaction.getSegmentData(i), transaction.getSegmentStart(i), transaction.getSegmentLength(i));
+        }
+    }
+
+    private void transfer(int len) {
+        long nanos = getTransactionNanos(len);
+        transactions++;
+        bytes += len;
+        busNanos += nanos;
+        if (clock == Clock.REAL) {
+            long end = System.nanoTime() + nanos;
+            long remaining = nanos;
+            while (remaining > 50_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+                remaining = end - System.nanoTime();
+            }
+            while (System.nanoTime() < end) {
+                // spin for accuracy
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (target != null) {
+            target.reset();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (target != null) {
+            target.shutdown();
+        }
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public DisplayConnection getTarget() {
+        return target;
+    }
+
+    /**
+     * @param target receives all calls after their time has been charged - null to discard them
+     */
+    public void setTarget(DisplayConnection target) {
+        this.target = target;
+    }
+
+    /**
+     * @return number of modelled bus transactions
+     */
+    public synchronized long getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * @return payload bytes sent (without framing)
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return modelled bus time of all calls so far
+     */
+    public synchronized long getBusNanos() {
+        return busNanos;
+    }
+
+    public synchronized void resetCounters() {
+        transactions = 0;
+        bytes = 0;
+        busNanos = 0;
+        writeErrors = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SimulatedBusConnection{" +
+                "clockRate=" + clockRate +
+                ", bitsPerByte=" + bitsPerByte +
+                ", framingBytes=" + framingBytes +
+                ", setupNanos=" + setupNanos +
+                ", clock=" + clock +
+                ", transactions=" + transactions +
+                ", bytes=" + bytes +
+                ", busNanos=" + busNanos +
+                ", writeErrors=" + writeErrors +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.display4j.core.conn;
+
+import java.io.IOException;
+
+/**
+ * multiplexer without hardware - for development and tests
+ *
+ * Keeps the channel mask written by {@link #select(int)}. Devices created by {@link #device(int, DisplayConnection)}
+ * only accept transfers while their channel is enabled - like a real device, which does not acknowledge
+ * its address otherwise.
+ */
+public class SimulatedI2CMultiplexer extends I2CMultiplexer {
+    public static final int DEFAULT_CHANNEL_COUNT = 8;
+
+    private volatile int channelMask;
+
+    private long maskWrites;
+
+    public SimulatedI2CMultiplexer() {
+        this(DEFAULT_CHANNEL_COUNT);
+    }
+
+    public SimulatedI2CMultiplexer(int channelCount) {
+        super(channelCount);
+    }
+
+    @Override
+    protected synchronized void writeChannelMask(int mask) {
+        channelMask = mask;
+        maskWrites++;
+    }
+
+    /**
+     * @return the mask last written - as the hardware register would hold it
+     */
+    public int getChannelMask() {
+        return channelMask;
+    }
+
+    /**
+     * @return number of writes to the simulated register
+     */
+    public synchronized long getMaskWrites() {
+        return maskWrites;
+    }
+
+    /**
+     * @param target receives the transfers while the channel is enabled
+     * @return the device connected to the channel - to be wrapped by a {@link MultiplexedDisplayConnection}
+     */
+    public DisplayConnection device(int channel, DisplayConnection target) {
+        return new ForwardingDisplayConnection(target) {
+            private void checkSelected() throws IOException {
+                if ((channelMask & (1 << channel)) == 0) {
+                    writeErrors++;
+                    throw new IOException("no ACK - channel " + channel + " not selected");
+                }
+            }
+
+            @Override
+            public void command(int command, int... params) throws IOException {
+                checkSelected();
+                super.command(command, params);
+            }
+
+            @Override
+            public void command(int command) throws IOException {
+                checkSelected();
+                super.command(command);
+            }
+
+            @Override
+            public void command(int command, int param) throws IOException {
+                checkSelected();
+                super.command(command, param);
+            }
+
+            @Override
+            public void command(int command, int param1, int param2) throws IOException {
+                checkSelected();
+                super.command(command, param1, param2);
+            }
+
+            @Override
+            public void data(byte[] data) throws IOException {
+                checkSelected();
+                super.data(data);
+            }
+
+            @Override
+            public void data(byte[] data, int start, int len) throws IOException {
+                checkSelected();
+                super.data(data, start, len);
+            }
+
+            @Override
+            public void execute(DisplayTransaction transaction) throws IOException {
+                checkSelected();
+                super.execute(transaction);
+            }
+        };
+    }
+}
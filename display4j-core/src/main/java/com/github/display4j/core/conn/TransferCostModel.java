@@ -0,0 +1,85 @@
+package com.github.display4j.core.conn;
+
+/**
+ * simple cost model of a display connection
+ *
+ * costs are given in "byte times" - the time needed to clock one payload byte over the bus.
+ * Every bus transaction adds a fixed overhead (addressing, control bytes, D/C toggling,
+ * driver call) on top of its payload. How commands preceding a data transfer are sent
+ * within a {@link DisplayTransaction} depends on the transport (see {@link CommandBatching}).
+ */
+public class TransferCostModel {
+    /**
+     * how a transport sends the commands of a transaction
+     */
+    public enum CommandBatching {
+        /** every command is a transaction of its own */
+        NONE,
+        /** consecutive commands are sent as one transaction */
+        SEPARATE,
+        /** commands ride in the following data transaction (one control byte per command byte) */
+        INLINE
+    }
+
+    /**
+     * model used if a connection does not provide its own
+     */
+    public static final TransferCostModel DEFAULT = new TransferCostModel(4, CommandBatching.NONE);
+
+    private final int transactionOverhead;
+
+    private final CommandBatching commandBatching;
+
+    /**
+     * @param transactionOverhead fixed cost of one bus transaction in byte times
+     */
+    public TransferCostModel(int transactionOverhead) {
+        this(transactionOverhead, CommandBatching.NONE);
+    }
+
+    /**
+     * @param transactionOverhead fixed cost of one bus transaction in byte times
+     * @param commandBatching how commands of a transaction are sent
+     */
+    public TransferCostModel(int transactionOverhead, CommandBatching commandBatching) {
+        this.transactionOverhead = transactionOverhead;
+        this.commandBatching = commandBatching;
+    }
+
+    public int getTransactionOverhead() {
+        return transactionOverhead;
+    }
+
+    public CommandBatching getCommandBatching() {
+        return commandBatching;
+    }
+
+    /**
+     * @return the cost of the given number of transactions carrying the given number of bytes in total
+     */
+    public long cost(int transactions, int bytes) {
+        return (long) transactions * transactionOverhead + bytes;
+    }
+
+    /**
+     * @return the cost of commands sent ahead of a data transfer within one transaction
+     */
+    public long commandCost(int commands, int bytes) {
+        switch (commandBatching) {
+            case INLINE:
+                return 2L * bytes;
+            case SEPARATE:
+                return cost(1, bytes);
+            default:
+                return cost(commands, bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransferCostModel{" +
+                "transactionOverhead=" + transactionOverhead +
+                ", commandBatching=" + commandBatching +
+                '}';
+    }
+}
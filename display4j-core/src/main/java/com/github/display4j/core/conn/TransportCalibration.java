@@ -0,0 +1,79 @@
+package com.github.display4j.core.conn;
+
+/**
+ * what a display connection achieves on the bus - measured by {@link TransportCalibrator}
+ *
+ * data transfer times are fitted as <code>transactionNanos + size * nanosPerByte</code>
+ */
+public class TransportCalibration {
+    private final int maxTransferSize;
+    private final long commandLatencyNanos;
+    private final long transactionNanos;
+    private final double nanosPerByte;
+
+    public TransportCalibration(int maxTransferSize, long commandLatencyNanos, long transactionNanos, double nanosPerByte) {
+        this.maxTransferSize = maxTransferSize;
+        this.commandLatencyNanos = commandLatencyNanos;
+        this.transactionNanos = transactionNanos;
+        this.nanosPerByte = nanosPerByte;
+    }
+
+    /**
+     * @return largest data transfer (payload bytes) that succeeded
+     */
+    public int getMaxTransferSize() {
+        return maxTransferSize;
+    }
+
+    /**
+     * @return average time of a single byte command
+     */
+    public long getCommandLatencyNanos() {
+        return commandLatencyNanos;
+    }
+
+    /**
+     * @return fixed time per data transaction, independent of its size
+     */
+    public long getTransactionNanos() {
+        return transactionNanos;
+    }
+
+    public double getNanosPerByte() {
+        return nanosPerByte;
+    }
+
+    /**
+     * @return payload throughput of large transfers
+     */
+    public long getBytesPerSecond() {
+        return nanosPerByte > 0 ? (long) (1_000_000_000d / nanosPerByte) : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return expected time to send a transfer of the given size
+     */
+    public long getTransferNanos(int size) {
+        return transactionNanos + (long) (size * nanosPerByte);
+    }
+
+    /**
+     * @param commandBatching how the transport sends the commands of a transaction
+     * @return cost model with the transaction overhead expressed in measured byte times
+     */
+    public TransferCostModel toTransferCostModel(TransferCostModel.CommandBatching commandBatching) {
+        int overhead = nanosPerByte > 0 ? (int) Math.min(Integer.MAX_VALUE, Math.round(transactionNanos / nanosPerByte)) : 0;
+        return new TransferCostModel(overhead, commandBatching);
+    }
+
+    @Override
+    public String toString() {
+        return "TransportCalibration{" +
+                "maxTransferSize=" + maxTransferSize +
+                ", commandLatencyNanos=" + commandLatencyNanos +
+                ", transactionNanos=" + transactionNanos +
+                ", nanosPerByte=" + nanosPerByte +
+                ", bytesPerSecond=" + getBytesPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.display4j.core.conn;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * measures latency and throughput of a display connection and probes its maximum transfer size
+ *
+ * Sends no-op commands and data transfers of growing size (16 bytes doubling up to the limit).
+ * A size is given up as soon as the connection reports a write error, the largest successful
+ * size becomes the maximum transfer size.
+ * Each size is repeated until about {@link #getProbeBytes()} bytes are sent (at least once), so the large
+ * sizes of a slow bus (f.e. a SSD1327 frame over 100 kHz I2C) do not stretch the calibration to several seconds.
+ * <br/>
+ * WARNING: the probe data is written to display RAM - only calibrate while the display content
+ * is rewritten afterwards anyway (f.e. during startup).
+ */
+public class TransportCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(TransportCalibrator.class);
+
+    private static final int MIN_PROBE_SIZE = 16;
+
+    /**
+     * NOOP - same opcode on SSD1306 and SSD1327
+     */
+    public static final int DEFAULT_PROBE_COMMAND = 0xE3;
+
+    private int probeCommand = DEFAULT_PROBE_COMMAND;
+
+    private int repetitions = 8;
+
+    private int probeBytes = 1024;
+
+    /**
+     * @param dspConn the connection to measure
+     * @param sizeLimit largest transfer to try (f.e. the display buffer size) - capped by the connection's
+     *                  declared maximum transfer size
+     * @return the measured values - not applied to the connection (see {@link DisplayConnection#setCalibration(TransportCalibration)})
+     */
+    public TransportCalibration calibrate(DisplayConnection dspConn, int sizeLimit) throws IOException {
+        sizeLimit = Math.min(sizeLimit, dspConn.getMaxTransferSize());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            dspConn.command(probeCommand);
+        }
+        long commandLatency = (System.nanoTime() - start) / repetitions;
+
+        // least squares fit of time over size
+        byte[] probe = new byte[sizeLimit];
+        int maxTransferSize = 0;
+        int samples = 0;
+        double sumSize = 0;
+        double sumTime = 0;
+        double sumSizeSize = 0;
+        double sumSizeTime = 0;
+        for (int size = Math.min(MIN_PROBE_SIZE, sizeLimit); size <= sizeLimit; size = nextSize(size, sizeLimit)) {
+            int sizeRepetitions = Math.max(1, Math.min(repetitions, probeBytes / size));
+            long errors = dspConn.getWriteErrors();
+            start = System.nanoTime();
+            for (int i = 0; i < sizeRepetitions; i++) {
+                dspConn.data(probe, 0, size);
+            }
+            double time = (double) (System.nanoTime() - start) / sizeRepetitions;
+            if (dspConn.getWriteErrors() != errors) {
+                logger.warn("transfer of {} bytes failed - limiting to {}", size, maxTransferSize);
+                break;
+            }
+
+            maxTransferSize = size;
+            samples++;
+            sumSize += size;
+            sumTime += time;
+            sumSizeSize += (double) size * size;
+            sumSizeTime += size * time;
+
+            if (size == sizeLimit) {
+                break;
+            }
+        }
+        if (maxTransferSize == 0) {
+            throw new IOException("no data transfer succeeded");
+        }
+
+        double nanosPerByte = 0;
+        double transactionNanos = samples > 0 ? sumTime / samples : 0;
+        double denominator = samples * sumSizeSize - sumSize * sumSize;
+        if (samples > 1 && denominator != 0) {
+            nanosPerByte = Math.max(0, (samples * sumSizeTime - sumSize * sumTime) / denominator);
+            transactionNanos = Math.max(0, (sumTime - nanosPerByte * sumSize) / samples);
+        }
+
+        TransportCalibration calibration = new TransportCalibration(maxTransferSize, commandLatency, (long) transactionNanos, nanosPerByte);
+        logger.info("calibrated {}: {}", dspConn, calibration);
+        return calibration;
+    }
+
+    private static int nextSize(int size, int sizeLimit) {
+        return size * 2 > sizeLimit ? sizeLimit : size * 2;
+    }
+
+    public int getProbeCommand() {
+        return probeCommand;
+    }
+
+    /**
+     * @param probeCommand a single byte command without effect on the display
+     */
+    public void setProbeCommand(int probeCommand) {
+        this.probeCommand = probeCommand;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(int repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    public int getProbeBytes() {
+        return probeBytes;
+    }
+
+    /**
+     * @param probeBytes data volume to send per probed size - larger sizes get fewer repetitions
+     */
+    public void setProbeBytes(int probeBytes) {
+        this.probeBytes = probeBytes;
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.display4j.core.emulator;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.conn.DisplayTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * base of headless controller emulators - decodes the command byte stream and counts the traffic
+ *
+ * Command bytes are decoded as a stream: an opcode is executed once all its parameters have arrived,
+ * no matter how the bytes were split up into calls. Data bytes are passed to {@link #writeData(int)}
+ * one by one.
+ */
+public abstract class ControllerEmulator extends DisplayConnection {
+    private static final Logger logger = LoggerFactory.getLogger(ControllerEmulator.class);
+
+    private static final int NO_OPCODE = -1;
+
+    private final int[] params = new int[16];
+    private int opcode = NO_OPCODE;
+    private int expectedParams;
+    private int receivedParams;
+
+    private long commands;
+    private long commandBytes;
+    private long dataBytes;
+    private long dataWrites;
+    private long droppedBytes;
+
+    /**
+     * @return number of parameter bytes following the opcode
+     */
+    protected abstract int parameterCount(int opcode);
+
+    /**
+     * applies a complete command
+     */
+    protected abstract void executeCommand(int opcode, int[] params, int paramCount);
+
+    /**
+     * writes one byte to display RAM at the current address and advances the address
+     */
+    protected abstract void writeData(int value);
+
+    /**
+     * restores the power-on state of the registers - display RAM keeps its content
+     */
+    protected abstract void resetRegisters();
+
+    @Override
+    public synchronized void command(int command, int... params) {
+        commandByte(command);
+        for (int param : params) {
+            commandByte(param);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command) {
+        commandByte(command);
+    }
+
+    @Override
+    public synchronized void command(int command, int param) {
+        commandByte(command);
+        commandByte(param);
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) {
+        commandByte(command);
+        commandByte(param1);
+        commandByte(param2);
+    }
+
+    @Override
+    public void data(byte[] data) {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) {
+        if (opcode != NO_OPCODE) {
+            logger.warn("data while command {} lacks {} parameters - command dropped",
+                    Integer.toHexString(opcode), expectedParams - receivedParams);
+            droppedBytes += receivedParams + 1;
+            opcode = NO_OPCODE;
+        }
+        dataWrites++;
+        dataBytes += len;
+        for (int i = start; i < start + len; i++) {
+            writeData(data[i] & 0xFF);
+        }
+    }
+
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) {
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            byte[] bytes = transaction.getSegmentData(i);
+            int start = transaction.getSegmentStart(i);
+            int len = transaction.getSegmentLength(i);
+            if (transaction.isCommand(i)) {
+                for (int b = start; b < start + len; b++) {
+                    commandByte(bytes[b] & 0xFF);
+                }
+            } else {
+                data(bytes, start, len);
+            }
+        }
+    }
+
+    private void commandByte(int value) {
+        value &= 0xFF;
+        commandBytes++;
+        if (opcode == NO_OPCODE) {
+            opcode = value;
+            expectedParams = parameterCount(value);
+            receivedParams = 0;
+        } else {
+            params[receivedParams++] = value;
+        }
+        if (receivedParams == expectedParams) {
+            int complete = opcode;
+            opcode = NO_OPCODE;
+            commands++;
+            executeCommand(complete, params, receivedParams);
+        }
+    }
+
+    /**
+     * hardware reset
+     */
+    @Override
+    public synchronized void reset() {
+        opcode = NO_OPCODE;
+        resetRegisters();
+    }
+
+    @Override
+    public void shutdown() {
+        // nothing to release
+    }
+
+    /**
+     * @return number of complete commands executed
+     */
+    public synchronized long getCommands() {
+        return commands;
+    }
+
+    /**
+     * @return opcode and parameter bytes received
+     */
+    public synchronized long getCommandBytes() {
+        return commandBytes;
+    }
+
+    /**
+     * @return data bytes received
+     */
+    public synchronized long getDataBytes() {
+        return dataBytes;
+    }
+
+    /**
+     * @return number of data transfers
+     */
+    public synchronized long getDataWrites() {
+        return dataWrites;
+    }
+
+    /**
+     * @return command bytes dropped because data arrived before all parameters
+     */
+    public synchronized long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    public synchronized void resetCounters() {
+        commands = 0;
+        commandBytes = 0;
+        dataBytes = 0;
+        dataWrites = 0;
+        droppedBytes = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getClass().getSimpleName() + "{" +
+                "commands=" + commands +
+                ", commandBytes=" + commandBytes +
+                ", dataBytes=" + dataBytes +
+                ", dataWrites=" + dataWrites +
+                ", droppedBytes=" + droppedBytes +
+                '}';
+    }
+}
@@ -0,0 +1,293 @@
+package com.github.display4j.core.emulator;
+
+import com.github.display4j.core.CommandSSD1306;
+import com.github.display4j.core.Constant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * headless SSD1306 - applies the command and data stream to an emulated 128 x 64 GDDRAM
+ *
+ * Supports horizontal, vertical and page addressing with column / page windows, start line,
+ * display offset, segment remap, COM scan direction, invert and entire display on.
+ * Like on the controller, the segment remap maps column addresses to segments when data is written,
+ * RAM written before a remap change keeps its segments.
+ * {@link #getFrame()} returns what the panel would show in the layout of the {@link com.github.display4j.core.SSD1306}
+ * buffer, so the result of partial updates can be compared with a full refresh.
+ * <br/>
+ * The panel is assumed to be mounted like the common modules (SEG0 on the right, COM0 at the bottom),
+ * so the default orientation of SSD1306 (segment remap, COM scan decrement) shows the buffer upright.
+ * <br/>
+ * Not emulated: scrolling (only its registers are kept), COM pin configuration (sequential and
+ * alternative wiring are assumed to match the panel), contrast and timing.
+ *
+ * <pre>
+ * SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+ * SSD1306 display = new SSD1306(emulator, 128, 64);
+ * display.startup(false);
+ * ...
+ * assertArrayEquals(display.getBuffer(), emulator.getFrame());
+ * </pre>
+ */
+public class SSD1306Emulator extends ControllerEmulator {
+    private static final Logger logger = LoggerFactory.getLogger(SSD1306Emulator.class);
+
+    private static final CommandSSD1306 commandset = new CommandSSD1306();
+
+    public static final int RAM_COLUMNS = 128;
+    public static final int RAM_PAGES = 8;
+    public static final int RAM_ROWS = RAM_PAGES * 8;
+
+    private final int width;
+    private final int height;
+
+    /** indexed by segment - the column address is mapped when written */
+    private final byte[] ram = new byte[RAM_COLUMNS * RAM_PAGES];
+
+    private int memoryMode;
+    private int columnStart;
+    private int columnEnd;
+    private int pageStart;
+    private int pageEnd;
+    private int column;
+    private int page;
+    /** column set by the page addressing commands - the pointer wraps back to it */
+    private int pageModeColumn;
+
+    private int startLine;
+    private int displayOffset;
+    private int multiplexRatio;
+    private boolean segmentRemap;
+    private boolean comScanDecrement;
+    private boolean inverted;
+    private boolean entireDisplayOn;
+    private boolean displayOn;
+    private int contrast;
+    private boolean scrollActive;
+
+    private long unknownCommands;
+
+    public SSD1306Emulator(int width, int height) {
+        if (width > RAM_COLUMNS || height > RAM_ROWS || height % 8 != 0) {
+            throw new IllegalArgumentException("unsupported geometry " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        resetRegisters();
+    }
+
+    @Override
+    protected void resetRegisters() {
+        memoryMode = Constant.MEMORY_MODE_PAGE;
+        columnStart = 0;
+        columnEnd = RAM_COLUMNS - 1;
+        pageStart = 0;
+        pageEnd = RAM_PAGES - 1;
+        column = 0;
+        page = 0;
+        pageModeColumn = 0;
+        startLine = 0;
+        displayOffset = 0;
+        multiplexRatio = RAM_ROWS - 1;
+        segmentRemap = false;
+        comScanDecrement = false;
+        inverted = false;
+        entireDisplayOn = false;
+        displayOn = false;
+        contrast = 0x7F;
+        scrollActive = false;
+    }
+
+    @Override
+    protected int parameterCount(int opcode) {
+        if (opcode == commandset.SET_MEMORY_MODE || opcode == commandset.SET_CONTRAST
+                || opcode == commandset.SET_CHARGE_PUMP || opcode == commandset.SET_MULTIPLEX_RATIO
+                || opcode == commandset.SET_DISPLAY_OFFSET || opcode == commandset.SET_DISPLAY_CLOCK_DIV
+                || opcode == commandset.SET_PRECHARGE_PERIOD || opcode == commandset.SET_COM_PINS
+                || opcode == commandset.SET_VCOMH_DESELECT) {
+            return 1;
+        }
+        if (opcode == commandset.SET_COLUMN_ADDRESS || opcode == commandset.SET_PAGE_ADDRESS
+                || opcode == commandset.SET_VERTICAL_SCROLL_AREA) {
+            return 2;
+        }
+        if (opcode == commandset.RIGHT_HORIZONTAL_SCROLL || opcode == commandset.LEFT_HORIZONTAL_SCROLL) {
+            return 6;
+        }
+        if (opcode == commandset.VERTICAL_AND_RIGHT_HORIZONTAL_SCROLL
+                || opcode == commandset.VERTICAL_AND_LEFT_HORIZONTAL_SCROLL) {
+            return 5;
+        }
+        return 0;
+    }
+
+    @Override
+    protected void executeCommand(int opcode, int[] params, int paramCount) {
+        if (opcode <= commandset.SET_LOWER_COL_START_F) {
+            pageModeColumn = (pageModeColumn & 0xF0) | (opcode & 0x0F);
+            column = pageModeColumn;
+        } else if (opcode <= commandset.SET_HIGHER_COL_START_F) {
+            pageModeColumn = ((opcode & 0x07) << 4) | (pageModeColumn & 0x0F);
+            column = pageModeColumn;
+        } else if (opcode == commandset.SET_MEMORY_MODE) {
+            memoryMode = params[0] & 0x03;
+        } else if (opcode == commandset.SET_COLUMN_ADDRESS) {
+            columnStart = params[0] & 0x7F;
+            columnEnd = params[1] & 0x7F;
+            column = columnStart;
+        } else if (opcode == commandset.SET_PAGE_ADDRESS) {
+            pageStart = params[0] & 0x07;
+            pageEnd = params[1] & 0x07;
+            page = pageStart;
+        } else if (opcode >= commandset.SET_START_LINE_00 && opcode <= commandset.SET_START_LINE_63) {
+            startLine = opcode - commandset.SET_START_LINE_00;
+        } else if (opcode >= commandset.SET_PAGE_START_ADDR_0 && opcode <= commandset.SET_PAGE_START_ADDR_7) {
+            page = opcode - commandset.SET_PAGE_START_ADDR_0;
+        } else if (opcode == commandset.SET_CONTRAST) {
+            contrast = params[0];
+        } else if (opcode == commandset.SET_SEGMENT_REMAP || opcode == commandset.SET_SEGMENT_REMAP_REVERSE) {
+            segmentRemap = opcode == commandset.SET_SEGMENT_REMAP_REVERSE;
+        } else if (opcode == commandset.SET_COM_SCAN_INC || opcode == commandset.SET_COM_SCAN_DEC) {
+            comScanDecrement = opcode == commandset.SET_COM_SCAN_DEC;
+        } else if (opcode == commandset.DISPLAY_MODE_NORMAL || opcode == commandset.DISPLAY_MODE_ALL_ON) {
+            // A4 / A5 - entire display on
+            entireDisplayOn = opcode == commandset.DISPLAY_MODE_ALL_ON;
+        } else if (opcode == commandset.DISPLAY_MODE_ALL_OFF || opcode == commandset.DISPLAY_MODE_INVERT) {
+            // A6 / A7 - normal / inverse
+            inverted = opcode == commandset.DISPLAY_MODE_INVERT;
+        } else if (opcode == commandset.DISPLAY_ON || opcode == commandset.DISPLAY_OFF) {
+            displayOn = opcode == commandset.DISPLAY_ON;
+        } else if (opcode == commandset.SET_MULTIPLEX_RATIO) {
+            multiplexRatio = Math.max(15, params[0] & 0x3F);
+        } else if (opcode == commandset.SET_DISPLAY_OFFSET) {
+            displayOffset = params[0] & 0x3F;
+        } else if (opcode == commandset.ACTIVATE_SCROLL || opcode == commandset.DEACTIVATE_SCROLL) {
+            scrollActive = opcode == commandset.ACTIVATE_SCROLL;
+        } else if (paramCount > 0 || opcode == commandset.NOOP) {
+            // configuration without effect on the image (clock, charge pump, pins, precharge, VCOMH, scroll setup)
+        } else {
+            unknownCommands++;
+            logger.debug("unknown command {}", Integer.toHexString(opcode));
+        }
+    }
+
+    @Override
+    protected void writeData(int value) {
+        int segment = segmentRemap ? RAM_COLUMNS - 1 - column : column;
+        ram[page * RAM_COLUMNS + segment] = (byte) value;
+
+        switch (memoryMode) {
+            case Constant.MEMORY_MODE_HORIZONTAL:
+                if (column >= columnEnd) {
+                    column = columnStart;
+                    page = page >= pageEnd ? pageStart : page + 1;
+                } else {
+                    column++;
+                }
+                break;
+            case Constant.MEMORY_MODE_VERTICAL:
+                if (page >= pageEnd) {
+                    page = pageStart;
+                    column = column >= columnEnd ? columnStart : column + 1;
+                } else {
+                    page++;
+                }
+                break;
+            default:
+                // page addressing: the page does not change
+                column = column >= RAM_COLUMNS - 1 ? pageModeColumn : column + 1;
+                break;
+        }
+    }
+
+    /**
+     * @return whether the pixel is lit on the panel
+     */
+    public synchronized boolean isPixelOn(int x, int y) {
+        if (!displayOn || y > multiplexRatio) {
+            return false;
+        }
+        if (entireDisplayOn) {
+            return true;
+        }
+        // panel mounted like the common modules: SEG0 on the right, COM0 at the bottom
+        int row = comScanDecrement ? y : multiplexRatio - y;
+        row = (row + displayOffset + startLine) % RAM_ROWS;
+        int segment = RAM_COLUMNS - 1 - x;
+        boolean on = (ram[(row / 8) * RAM_COLUMNS + segment] & (1 << (row & 7))) != 0;
+        return on != inverted;
+    }
+
+    /**
+     * @return the panel image in the layout of the SSD1306 buffer (width * height / 8 bytes, pages of vertical bytes)
+     */
+    public synchronized byte[] getFrame() {
+        byte[] frame = new byte[width * height / 8];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (isPixelOn(x, y)) {
+                    frame[x + (y / 8) * width] |= (1 << (y & 7));
+                }
+            }
+        }
+        return frame;
+    }
+
+    /**
+     * @return a copy of the display RAM - 8 pages of 128 segment bytes
+     */
+    public synchronized byte[] getRam() {
+        return ram.clone();
+    }
+
+    public synchronized int getMemoryMode() {
+        return memoryMode;
+    }
+
+    public synchronized int getColumn() {
+        return column;
+    }
+
+    public synchronized int getPage() {
+        return page;
+    }
+
+    public synchronized int getStartLine() {
+        return startLine;
+    }
+
+    public synchronized int getDisplayOffset() {
+        return displayOffset;
+    }
+
+    public synchronized boolean isSegmentRemap() {
+        return segmentRemap;
+    }
+
+    public synchronized boolean isComScanDecrement() {
+        return comScanDecrement;
+    }
+
+    public synchronized boolean isInverted() {
+        return inverted;
+    }
+
+    public synchronized boolean isDisplayOn() {
+        return displayOn;
+    }
+
+    public synchronized int getContrast() {
+        return contrast;
+    }
+
+    public synchronized boolean isScrollActive() {
+        return scrollActive;
+    }
+
+    /**
+     * @return number of opcodes not known to the emulator
+     */
+    public synchronized long getUnknownCommands() {
+        return unknownCommands;
+    }
+}
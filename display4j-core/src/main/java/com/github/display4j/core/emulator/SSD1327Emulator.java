@@ -0,0 +1,278 @@
+package com.github.display4j.core.emulator;
+
+import com.github.display4j.core.CommandSSD1327;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * headless SSD1327 - applies the command and data stream to an emulated 128 x 128 x 4 bit GRAM
+ *
+ * GRAM is addressed in 64 byte-columns (two pixels each) by 128 rows. Supports column / row windows,
+ * horizontal and vertical address increment, display start line, display offset, the remap bits
+ * (column remap, nibble remap, COM remap, odd / even COM splitting) and the display modes.
+ * {@link #getFrame()} returns what the panel would show in the layout of the {@link com.github.display4j.core.SSD1327}
+ * buffer (even pixel in the lower nibble).
+ * <br/>
+ * Panels differ in how their COM lines are wired: by default the odd / even splitting bit is assumed to
+ * show the rows in sequence when set - like the panel {@link com.github.display4j.core.SSD1327} was
+ * written for. Not emulated: scrolling (only its registers are kept), grey scale table and timing.
+ */
+public class SSD1327Emulator extends ControllerEmulator {
+    private static final Logger logger = LoggerFactory.getLogger(SSD1327Emulator.class);
+
+    private static final CommandSSD1327 commandset = new CommandSSD1327();
+
+    public static final int RAM_COLUMNS = 64;
+    public static final int RAM_ROWS = 128;
+
+    private static final int REMAP_COLUMN = 1;
+    private static final int REMAP_NIBBLE = 1 << 1;
+    private static final int REMAP_VERTICAL_INCREMENT = 1 << 2;
+    private static final int REMAP_COM = 1 << 4;
+    private static final int REMAP_SPLIT_ODD_EVEN = 1 << 6;
+
+    // opcodes without constant in CommandSSD1327
+    private static final int SET_FUNCTION_SELECTION_A = 0xAB;
+    private static final int SET_PHASE_LENGTH = 0xB1;
+    private static final int SET_CLOCK_DIVIDER = 0xB3;
+    private static final int SET_SECOND_PRECHARGE = 0xB6;
+    private static final int SET_GRAY_SCALE_TABLE = 0xB8;
+    private static final int SET_PRECHARGE_VOLTAGE = 0xBC;
+    private static final int SET_VCOMH = 0xBE;
+    private static final int SET_FUNCTION_SELECTION_B = 0xD5;
+    private static final int SET_COMMAND_LOCK = 0xFD;
+
+    private static final int GRAY_SCALE_TABLE_LENGTH = 15;
+
+    private final int width;
+    private final int height;
+
+    private final boolean splitWiring;
+
+    private final byte[] ram = new byte[RAM_COLUMNS * RAM_ROWS];
+
+    private int columnStart;
+    private int columnEnd;
+    private int rowStart;
+    private int rowEnd;
+    private int column;
+    private int row;
+
+    private int remap;
+    private int startLine;
+    private int displayOffset;
+    private int multiplexRatio;
+    private int displayMode;
+    private boolean displayOn;
+    private int contrast;
+    private boolean scrollActive;
+
+    private long unknownCommands;
+
+    public SSD1327Emulator(int width, int height) {
+        this(width, height, true);
+    }
+
+    /**
+     * @param splitWiring true if the panel shows the rows in sequence with odd / even splitting enabled
+     */
+    public SSD1327Emulator(int width, int height, boolean splitWiring) {
+        if (width > RAM_COLUMNS * 2 || height > RAM_ROWS || width % 2 != 0) {
+            throw new IllegalArgumentException("unsupported geometry " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.splitWiring = splitWiring;
+        resetRegisters();
+    }
+
+    @Override
+    protected void resetRegisters() {
+        columnStart = 0;
+        columnEnd = RAM_COLUMNS - 1;
+        rowStart = 0;
+        rowEnd = RAM_ROWS - 1;
+        column = 0;
+        row = 0;
+        remap = 0;
+        startLine = 0;
+        displayOffset = 0;
+        multiplexRatio = RAM_ROWS - 1;
+        displayMode = commandset.DISPLAY_MODE_NORMAL;
+        displayOn = false;
+        contrast = 0x7F;
+        scrollActive = false;
+    }
+
+    @Override
+    protected int parameterCount(int opcode) {
+        if (opcode == commandset.SETUP_COLUMN_START_END_ADDRESS || opcode == commandset.SETUP_ROW_START_END_ADDRESS) {
+            return 2;
+        }
+        if (opcode == commandset.RIGHT_HORIZONTAL_SCROLL || opcode == commandset.LEFT_HORIZONTAL_SCROLL) {
+            return 6;
+        }
+        if (opcode == SET_GRAY_SCALE_TABLE) {
+            return GRAY_SCALE_TABLE_LENGTH;
+        }
+        if (opcode == commandset.SET_CONTRAST || opcode == commandset.SET_SEGMENT_REMAP
+                || opcode == commandset.SET_DISPLAY_START_LINE || opcode == commandset.SET_DISPLAY_OFFSET
+                || opcode == commandset.SET_MULTIPLEX_RATIO || opcode == SET_FUNCTION_SELECTION_A
+                || opcode == SET_PHASE_LENGTH || opcode == SET_CLOCK_DIVIDER || opcode == SET_SECOND_PRECHARGE
+                || opcode == SET_PRECHARGE_VOLTAGE || opcode == SET_VCOMH || opcode == SET_FUNCTION_SELECTION_B
+                || opcode == SET_COMMAND_LOCK) {
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    protected void executeCommand(int opcode, int[] params, int paramCount) {
+        if (opcode == commandset.SETUP_COLUMN_START_END_ADDRESS) {
+            columnStart = params[0] & 0x3F;
+            columnEnd = params[1] & 0x3F;
+            column = columnStart;
+        } else if (opcode == commandset.SETUP_ROW_START_END_ADDRESS) {
+            rowStart = params[0] & 0x7F;
+            rowEnd = params[1] & 0x7F;
+            row = rowStart;
+        } else if (opcode == commandset.SET_SEGMENT_REMAP) {
+            remap = params[0];
+        } else if (opcode == commandset.SET_DISPLAY_START_LINE) {
+            startLine = params[0] & 0x7F;
+        } else if (opcode == commandset.SET_DISPLAY_OFFSET) {
+            displayOffset = params[0] & 0x7F;
+        } else if (opcode == commandset.SET_MULTIPLEX_RATIO) {
+            multiplexRatio = Math.max(15, params[0] & 0x7F);
+        } else if (opcode == commandset.SET_CONTRAST) {
+            contrast = params[0];
+        } else if (opcode >= commandset.DISPLAY_MODE_NORMAL && opcode <= commandset.DISPLAY_MODE_INVERT) {
+            // A4 normal, A5 all on, A6 all off, A7 inverse
+            displayMode = opcode;
+        } else if (opcode == commandset.DISPLAY_ON || opcode == commandset.DISPLAY_OFF) {
+            displayOn = opcode == commandset.DISPLAY_ON;
+        } else if (opcode == commandset.ACTIVATE_SCROLL || opcode == commandset.DEACTIVATE_SCROLL) {
+            scrollActive = opcode == commandset.ACTIVATE_SCROLL;
+        } else if (paramCount > 0 || opcode == commandset.NOOP || opcode == 0xB9) {
+            // configuration without effect on the image (timing, voltages, grey scale table, lock, scroll setup)
+        } else {
+            unknownCommands++;
+            logger.debug("unknown command {}", Integer.toHexString(opcode));
+        }
+    }
+
+    @Override
+    protected void writeData(int value) {
+        ram[row * RAM_COLUMNS + column] = (byte) value;
+
+        if ((remap & REMAP_VERTICAL_INCREMENT) != 0) {
+            if (row >= rowEnd) {
+                row = rowStart;
+                column = column >= columnEnd ? columnStart : column + 1;
+            } else {
+                row++;
+            }
+        } else {
+            if (column >= columnEnd) {
+                column = columnStart;
+                row = row >= rowEnd ? rowStart : row + 1;
+            } else {
+                column++;
+            }
+        }
+    }
+
+    /**
+     * @return grey level (0 - 15) of the pixel on the panel
+     */
+    public synchronized int getPixel(int x, int y) {
+        if (!displayOn || y > multiplexRatio || displayMode == commandset.DISPLAY_MODE_ALL_OFF) {
+            return 0;
+        }
+        if (displayMode == commandset.DISPLAY_MODE_ALL_ON) {
+            return 15;
+        }
+
+        int com = y;
+        if (((remap & REMAP_SPLIT_ODD_EVEN) != 0) != splitWiring) {
+            // COM lines interleaved - even rows from the first, odd rows from the second half
+            int half = (multiplexRatio + 1) / 2;
+            com = (y & 1) == 0 ? y / 2 : half + y / 2;
+        }
+        if ((remap & REMAP_COM) != 0) {
+            com = multiplexRatio - com;
+        }
+        int ramRow = (com + startLine + displayOffset) % RAM_ROWS;
+
+        int segment = (remap & REMAP_COLUMN) != 0 ? RAM_COLUMNS * 2 - 1 - x : x;
+        int value = ram[ramRow * RAM_COLUMNS + segment / 2] & 0xFF;
+        boolean highNibble = ((segment & 1) != 0) != ((remap & REMAP_NIBBLE) != 0);
+        int grey = highNibble ? value >> 4 : value & 0x0F;
+
+        return displayMode == commandset.DISPLAY_MODE_INVERT ? 15 - grey : grey;
+    }
+
+    /**
+     * @return the panel image in the layout of the SSD1327 buffer (width / 2 bytes per row, even pixel in the lower nibble)
+     */
+    public synchronized byte[] getFrame() {
+        int rowBytes = width / 2;
+        byte[] frame = new byte[rowBytes * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x += 2) {
+                frame[y * rowBytes + x / 2] = (byte) (getPixel(x, y) | (getPixel(x + 1, y) << 4));
+            }
+        }
+        return frame;
+    }
+
+    /**
+     * @return a copy of GRAM - 128 rows of 64 bytes
+     */
+    public synchronized byte[] getRam() {
+        return ram.clone();
+    }
+
+    public synchronized int getColumn() {
+        return column;
+    }
+
+    public synchronized int getRow() {
+        return row;
+    }
+
+    public synchronized int getRemap() {
+        return remap;
+    }
+
+    public synchronized int getStartLine() {
+        return startLine;
+    }
+
+    public synchronized int getDisplayOffset() {
+        return displayOffset;
+    }
+
+    public synchronized int getDisplayMode() {
+        return displayMode;
+    }
+
+    public synchronized boolean isDisplayOn() {
+        return displayOn;
+    }
+
+    public synchronized int getContrast() {
+        return contrast;
+    }
+
+    public synchronized boolean isScrollActive() {
+        return scrollActive;
+    }
+
+    /**
+     * @return number of opcodes not known to the emulator
+     */
+    public synchronized long getUnknownCommands() {
+        return unknownCommands;
+    }
+}
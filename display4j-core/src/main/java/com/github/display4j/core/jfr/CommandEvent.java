@@ -0,0 +1,22 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Command")
+@Label("Connection Command")
+@Category("display4j")
+@Description("Sending a command over the connection")
+final class CommandEvent extends Event {
+    @Label("Connection")
+    String connection;
+
+    @Label("Opcode")
+    int opcode;
+
+    @Label("Bytes")
+    int bytes;
+}
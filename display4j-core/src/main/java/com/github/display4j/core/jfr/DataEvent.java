@@ -0,0 +1,19 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Data")
+@Label("Connection Data")
+@Category("display4j")
+@Description("Sending data over the connection")
+final class DataEvent extends Event {
+    @Label("Connection")
+    String connection;
+
+    @Label("Bytes")
+    int bytes;
+}
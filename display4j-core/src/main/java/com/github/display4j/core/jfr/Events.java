@@ -0,0 +1,128 @@
+package com.github.display4j.core.jfr;
+
+/**
+ * typed event handling - only loaded if JFR is available (see {@link FlightRecorder})
+ */
+final class Events {
+    /**
+     * one instance per type to check whether the type is enabled - no event is allocated while not recording
+     */
+    private static final FrameEvent FRAME = new FrameEvent();
+    private static final RasterEvent RASTER = new RasterEvent();
+    private static final TextEvent TEXT = new TextEvent();
+    private static final ImageEvent IMAGE = new ImageEvent();
+    private static final CommandEvent COMMAND = new CommandEvent();
+    private static final DataEvent DATA = new DataEvent();
+    private static final TransactionEvent TRANSACTION = new TransactionEvent();
+
+    private Events() {
+    }
+
+    static Object begin(jdk.jfr.Event event) {
+        event.begin();
+        return event;
+    }
+
+    static Object beginFrame() {
+        return FRAME.isEnabled() ? begin(new FrameEvent()) : null;
+    }
+
+    static void endFrame(Object started, String display, String plan, int windows, int bytes) {
+        FrameEvent event = (FrameEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.display = display;
+            event.plan = plan;
+            event.windows = windows;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    static Object beginRaster() {
+        return RASTER.isEnabled() ? begin(new RasterEvent()) : null;
+    }
+
+    static void endRaster(Object started, String display, int pixels) {
+        RasterEvent event = (RasterEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.display = display;
+            event.pixels = pixels;
+            event.commit();
+        }
+    }
+
+    static Object beginText() {
+        return TEXT.isEnabled() ? begin(new TextEvent()) : null;
+    }
+
+    static void endText(Object started, String font, int characters) {
+        TextEvent event = (TextEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.font = font;
+            event.characters = characters;
+            event.commit();
+        }
+    }
+
+    static Object beginImage() {
+        return IMAGE.isEnabled() ? begin(new ImageEvent()) : null;
+    }
+
+    static void endImage(Object started, int width, int height) {
+        ImageEvent event = (ImageEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.width = width;
+            event.height = height;
+            event.commit();
+        }
+    }
+
+    static Object beginCommand() {
+        return COMMAND.isEnabled() ? begin(new CommandEvent()) : null;
+    }
+
+    static void endCommand(Object started, String connection, int opcode, int bytes) {
+        CommandEvent event = (CommandEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.connection = connection;
+            event.opcode = opcode;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    static Object beginData() {
+        return DATA.isEnabled() ? begin(new DataEvent()) : null;
+    }
+
+    static void endData(Object started, String connection, int bytes) {
+        DataEvent event = (DataEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.connection = connection;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    static Object beginTransaction() {
+        return TRANSACTION.isEnabled() ? begin(new TransactionEvent()) : null;
+    }
+
+    static void endTransaction(Object started, String connection, int segments, int commandBytes, int dataBytes) {
+        TransactionEvent event = (TransactionEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.connection = connection;
+            event.segments = segments;
+            event.commandBytes = commandBytes;
+            event.dataBytes = dataBytes;
+            event.commit();
+        }
+    }
+}
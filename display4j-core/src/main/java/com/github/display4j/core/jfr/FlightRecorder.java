@@ -0,0 +1,118 @@
+package com.github.display4j.core.jfr;
+
+/**
+ * Java Flight Recorder events of display4j - safe to call on JVMs without JFR
+ *
+ * Every begin method returns the started event or null if JFR is not available, the event type
+ * is not enabled in the running recording or events are switched off with
+ * {@code -Ddisplay4j.jfr=false}. The end methods accept null and only fill in the
+ * fields if the event is going to be committed, so instrumented code costs next to nothing
+ * while no recording is running.
+ *
+ * <pre>
+ * Object event = FlightRecorder.beginFrame();
+ * ...
+ * FlightRecorder.endFrame(event, this, plan, windows, bytes);
+ * </pre>
+ *
+ * Events are listed in the "display4j" category - start a recording f.e. with
+ * {@code -XX:StartFlightRecording=filename=display.jfr}.
+ */
+public final class FlightRecorder {
+    /**
+     * JFR present and not switched off
+     */
+    public static final boolean AVAILABLE = isJfrPresent() && !"false".equals(System.getProperty("display4j.jfr"));
+
+    private FlightRecorder() {
+    }
+
+    private static boolean isJfrPresent() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String typeName(Object source) {
+        return source == null ? null : source.getClass().getSimpleName();
+    }
+
+    public static Object beginFrame() {
+        return AVAILABLE ? Events.beginFrame() : null;
+    }
+
+    /**
+     * @param display the display sending the frame
+     * @param plan the update plan - null if nothing changed
+     * @param windows number of windows sent
+     * @param bytes number of data bytes sent
+     */
+    public static void endFrame(Object event, Object display, Object plan, int windows, int bytes) {
+        if (event != null) {
+            Events.endFrame(event, typeName(display), plan == null ? null : plan.toString(), windows, bytes);
+        }
+    }
+
+    public static Object beginRaster() {
+        return AVAILABLE ? Events.beginRaster() : null;
+    }
+
+    public static void endRaster(Object event, Object display, int pixels) {
+        if (event != null) {
+            Events.endRaster(event, typeName(display), pixels);
+        }
+    }
+
+    public static Object beginText() {
+        return AVAILABLE ? Events.beginText() : null;
+    }
+
+    public static void endText(Object event, String font, int characters) {
+        if (event != null) {
+            Events.endText(event, font, characters);
+        }
+    }
+
+    public static Object beginImage() {
+        return AVAILABLE ? Events.beginImage() : null;
+    }
+
+    public static void endImage(Object event, int width, int height) {
+        if (event != null) {
+            Events.endImage(event, width, height);
+        }
+    }
+
+    public static Object beginCommand() {
+        return AVAILABLE ? Events.beginCommand() : null;
+    }
+
+    public static void endCommand(Object event, Object connection, int opcode, int bytes) {
+        if (event != null) {
+            Events.endCommand(event, typeName(connection), opcode, bytes);
+        }
+    }
+
+    public static Object beginData() {
+        return AVAILABLE ? Events.beginData() : null;
+    }
+
+    public static void endData(Object event, Object connection, int bytes) {
+        if (event != null) {
+            Events.endData(event, typeName(connection), bytes);
+        }
+    }
+
+    public static Object beginTransaction() {
+        return AVAILABLE ? Events.beginTransaction() : null;
+    }
+
+    public static void endTransaction(Object event, Object connection, int segments, int commandBytes, int dataBytes) {
+        if (event != null) {
+            Events.endTransaction(event, typeName(connection), segments, commandBytes, dataBytes);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Frame")
+@Label("Display Frame")
+@Category("display4j")
+@Description("Sending a frame to the display")
+final class FrameEvent extends Event {
+    @Label("Display")
+    String display;
+
+    @Label("Plan")
+    String plan;
+
+    @Label("Windows")
+    int windows;
+
+    @Label("Bytes")
+    int bytes;
+}
@@ -0,0 +1,19 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Image")
+@Label("Draw Image")
+@Category("display4j")
+@Description("Scaling and drawing an image")
+final class ImageEvent extends Event {
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+}
@@ -0,0 +1,19 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Raster")
+@Label("Rasterize Graphics2D")
+@Category("display4j")
+@Description("Converting the Graphics2D image into the display buffer")
+final class RasterEvent extends Event {
+    @Label("Display")
+    String display;
+
+    @Label("Pixels")
+    int pixels;
+}
@@ -0,0 +1,19 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Text")
+@Label("Draw Text")
+@Category("display4j")
+@Description("Drawing text with a bitmap font")
+final class TextEvent extends Event {
+    @Label("Font")
+    String font;
+
+    @Label("Characters")
+    int characters;
+}
@@ -0,0 +1,25 @@
+package com.github.display4j.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("display4j.Transaction")
+@Label("Connection Transaction")
+@Category("display4j")
+@Description("Sending a transaction over the connection")
+final class TransactionEvent extends Event {
+    @Label("Connection")
+    String connection;
+
+    @Label("Segments")
+    int segments;
+
+    @Label("Command Bytes")
+    int commandBytes;
+
+    @Label("Data Bytes")
+    int dataBytes;
+}
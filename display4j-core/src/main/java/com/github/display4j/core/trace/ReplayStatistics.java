@@ -0,0 +1,152 @@
+package com.github.display4j.core.trace;
+
+import com.github.display4j.core.misc.LatencyHistogram;
+
+/**
+ * result of a {@link TraceReplayer} run
+ */
+public class ReplayStatistics {
+    private long records;
+    private long commands;
+    private long dataTransfers;
+    private long transactions;
+    private long resets;
+    private long bytes;
+
+    private long elapsedNanos;
+    private long recordedNanos;
+    private long recordedCallNanos;
+    private long maxLatenessNanos;
+
+    /** latency of the replayed calls (command, data transfer, transaction, reset) */
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    void countRecord() {
+        records++;
+    }
+
+    void recordCall(byte type, int len, long latencyNanos, long recordedDurationNanos) {
+        switch (type) {
+            case TraceFormat.COMMAND:
+                commands++;
+                break;
+            case TraceFormat.DATA:
+                dataTransfers++;
+                break;
+            case TraceFormat.TRANSACTION_END:
+                transactions++;
+                break;
+            case TraceFormat.RESET:
+                resets++;
+                break;
+            default:
+                break;
+        }
+        bytes += len;
+        recordedCallNanos += recordedDurationNanos;
+        latencies.record(latencyNanos);
+    }
+
+    void recordLateness(long latenessNanos) {
+        maxLatenessNanos = Math.max(maxLatenessNanos, latenessNanos);
+    }
+
+    void finish(long elapsedNanos, long recordedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.recordedNanos = recordedNanos;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getCommands() {
+        return commands;
+    }
+
+    public long getDataTransfers() {
+        return dataTransfers;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public long getResets() {
+        return resets;
+    }
+
+    /**
+     * @return command and data bytes replayed
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return number of calls to the target connection
+     */
+    public long getCalls() {
+        return latencies.getCount();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return time span covered by the trace
+     */
+    public long getRecordedNanos() {
+        return recordedNanos;
+    }
+
+    /**
+     * @return sum of the call durations measured while recording
+     */
+    public long getRecordedCallNanos() {
+        return recordedCallNanos;
+    }
+
+    /**
+     * @return largest delay of a call behind its schedule - 0 when replaying at maximum speed
+     */
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile 0..100
+     * @return call latency at the percentile - see {@link LatencyHistogram#getPercentileNanos(double)}
+     */
+    public long getLatencyPercentileNanos(double percentile) {
+        return latencies.getPercentileNanos(percentile);
+    }
+
+    public long getAverageLatencyNanos() {
+        return latencies.getMeanNanos();
+    }
+
+    /**
+     * @return the call latencies
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReplayStatistics{records=%d, commands=%d, dataTransfers=%d, transactions=%d, resets=%d, "
+                        + "bytes=%d, elapsed=%.3fms, recorded=%.3fms, recordedCalls=%.3fms, throughput=%.1fkB/s, "
+                        + "latency avg=%.1fus p50=%.1fus p99=%.1fus max=%.1fus, maxLateness=%.1fus}",
+                records, commands, dataTransfers, transactions, resets, bytes,
+                elapsedNanos / 1e6, recordedNanos / 1e6, recordedCallNanos / 1e6, getBytesPerSecond() / 1000,
+                getAverageLatencyNanos() / 1e3, getLatencyPercentileNanos(50) / 1e3,
+                getLatencyPercentileNanos(99) / 1e3, latencies.getMaxNanos() / 1e3,
+                maxLatenessNanos / 1e3);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.display4j.core.trace;
+
+/**
+ * binary layout of display connection traces (big endian)
+ *
+ * <pre>
+ * header:  magic "D4JT" (4), version (2), reserved (2), start epoch millis (8)
+ * record:  type (1), timestamp nanos since start (8), duration nanos (4), payload length (4), payload
+ * </pre>
+ *
+ * Command payload is the opcode followed by its parameters, data payload the data bytes.
+ * The segments of a transaction are recorded between {@link #TRANSACTION_BEGIN} and
+ * {@link #TRANSACTION_END} - with the timestamp of the transaction and duration 0,
+ * the end record carries the duration of the whole transaction.
+ */
+public final class TraceFormat {
+    public static final int MAGIC = 0x44344A54; // "D4JT"
+
+    public static final short VERSION = 1;
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final int RECORD_HEADER_SIZE = 17;
+
+    /**
+     * largest payload accepted when reading - far above any display frame, guards against corrupt length fields
+     */
+    public static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+
+    public static final byte COMMAND = 1;
+    public static final byte DATA = 2;
+    public static final byte TRANSACTION_BEGIN = 3;
+    public static final byte TRANSACTION_END = 4;
+    public static final byte RESET = 5;
+
+    private TraceFormat() {
+    }
+
+    public static String typeName(byte type) {
+        switch (type) {
+            case COMMAND:
+                return "COMMAND";
+            case DATA:
+                return "DATA";
+            case TRANSACTION_BEGIN:
+                return "TRANSACTION_BEGIN";
+            case TRANSACTION_END:
+                return "TRANSACTION_END";
+            case RESET:
+                return "RESET";
+            default:
+                return "UNKNOWN(" + type + ")";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.display4j.core.trace;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * reads a trace written by {@link TraceWriter}
+ *
+ * <pre>
+ * try (TraceReader reader = new TraceReader(path)) {
+ *     TraceRecord record = new TraceRecord();
+ *     while (reader.next(record)) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class TraceReader implements Closeable {
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private final long startEpochMillis;
+
+    public TraceReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer.limit(0);
+        try {
+            if (!fill(TraceFormat.HEADER_SIZE)) {
+                throw new IOException("not a trace file - too short: " + file);
+            }
+            if (buffer.getInt() != TraceFormat.MAGIC) {
+                throw new IOException("not a trace file: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != TraceFormat.VERSION) {
+                throw new IOException("unsupported trace version " + version + ": " + file);
+            }
+            buffer.getShort();
+            startEpochMillis = buffer.getLong();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return wall clock time the trace was started
+     */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * reads the next record
+     *
+     * @return false at the end of the trace
+     */
+    public boolean next(TraceRecord record) throws IOException {
+        if (!fill(TraceFormat.RECORD_HEADER_SIZE)) {
+            if (buffer.hasRemaining()) {
+                throw new EOFException("truncated record header");
+            }
+            return false;
+        }
+        byte type = buffer.get();
+        long timestamp = buffer.getLong();
+        long duration = buffer.getInt() & 0xFFFFFFFFL;
+        int length = buffer.getInt();
+        if (length < 0 || length > TraceFormat.MAX_PAYLOAD_SIZE) {
+            throw new IOException("corrupt record length " + length);
+        }
+        long available = buffer.remaining() + channel.size() - channel.position();
+        if (length > available) {
+            throw new EOFException("truncated record payload - " + length + " bytes expected, " + available + " left");
+        }
+        record.set(type, timestamp, duration, length);
+
+        byte[] payload = record.getPayload();
+        int read = 0;
+        while (read < length) {
+            if (!buffer.hasRemaining() && !fill(1)) {
+                throw new EOFException("truncated record payload");
+            }
+            int chunk = Math.min(buffer.remaining(), length - read);
+            buffer.get(payload, read, chunk);
+            read += chunk;
+        }
+        return true;
+    }
+
+    /**
+     * makes sure the buffer holds at least len bytes
+     *
+     * @return false if the file ends before
+     */
+    private boolean fill(int len) throws IOException {
+        if (buffer.remaining() >= len) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < len) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.display4j.core.trace;
+
+/**
+ * one record of a trace - reused by {@link TraceReader#next(TraceRecord)}
+ */
+public class TraceRecord {
+    private byte type;
+    private long timestamp;
+    private long duration;
+
+    private byte[] payload = new byte[64];
+    private int length;
+
+    void set(byte type, long timestamp, long duration, int length) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.duration = duration;
+        this.length = length;
+        if (payload.length < length) {
+            payload = new byte[Math.max(length, payload.length * 2)];
+        }
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * @return nanoseconds since the start of the trace
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return nanoseconds the call took on the recorded connection
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return array holding the payload in its first {@link #getLength()} bytes
+     */
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceRecord{" +
+                "type=" + TraceFormat.typeName(type) +
+                ", timestamp=" + timestamp +
+                ", duration=" + duration +
+                ", length=" + length +
+                '}';
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.display4j.core.trace;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.conn.DisplayTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * replays a trace recorded by {@link com.github.display4j.core.conn.RecordingDisplayConnection} into any connection
+ *
+ * Calls are issued with their original timing, with timing scaled by a factor or as fast as possible.
+ * Transactions are rebuilt and committed as one, so transports see the same batching as when recorded.
+ *
+ * <pre>
+ * TraceReplayer replayer = new TraceReplayer(new DisplayConnectionMock());
+ * replayer.setTiming(TraceReplayer.Timing.MAX_SPEED);
+ * ReplayStatistics statistics = replayer.replay(Paths.get("display.trace"));
+ * </pre>
+ */
+public class TraceReplayer {
+    private static final Logger logger = LoggerFactory.getLogger(TraceReplayer.class);
+
+    /**
+     * waits shorter than this are spun instead of parked
+     */
+    private static final long SPIN_NANOS = 50_000;
+
+    public enum Timing {
+        /** calls at their recorded time */
+        ORIGINAL,
+        /** recorded time divided by the speed factor */
+        SCALED,
+        /** no waiting between calls */
+        MAX_SPEED
+    }
+
+    private final DisplayConnection target;
+
+    private Timing timing = Timing.ORIGINAL;
+
+    private double speedFactor = 1.0;
+
+    // data segments of the open transaction - copied, records are reused
+    private byte[] transactionData = new byte[4096];
+    private int transactionDataLength;
+    private boolean[] segmentCommand = new boolean[64];
+    private int[] segmentStart = new int[64];
+    private int[] segmentLength = new int[64];
+    private int segments;
+
+    private int[][] params = new int[8][];
+
+    public TraceReplayer(DisplayConnection target) {
+        this.target = target;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    public void setTiming(Timing timing) {
+        this.timing = timing;
+    }
+
+    public double getSpeedFactor() {
+        return speedFactor;
+    }
+
+    /**
+     * @param speedFactor used with {@link Timing#SCALED} - 2.0 replays twice as fast as recorded
+     */
+    public void setSpeedFactor(double speedFactor) {
+        if (speedFactor <= 0) {
+            throw new IllegalArgumentException("speed factor must be positive");
+        }
+        this.speedFactor = speedFactor;
+    }
+
+    public ReplayStatistics replay(Path trace) throws IOException {
+        try (TraceReader reader = new TraceReader(trace)) {
+            return replay(reader);
+        }
+    }
+
+    public ReplayStatistics replay(TraceReader reader) throws IOException {
+        ReplayStatistics statistics = new ReplayStatistics();
+        TraceRecord record = new TraceRecord();
+
+        boolean inTransaction = false;
+        long firstTimestamp = -1;
+        long lastTimestamp = 0;
+        long start = System.nanoTime();
+
+        while (reader.next(record)) {
+            statistics.countRecord();
+            byte type = record.getType();
+            if (firstTimestamp < 0) {
+                firstTimestamp = record.getTimestamp();
+            }
+            lastTimestamp = record.getTimestamp();
+            if (type == TraceFormat.COMMAND && record.getLength() < 1) {
+                // no opcode
+                throw new IOException("corrupt command record: " + record);
+            }
+
+            if (inTransaction) {
+                if (type == TraceFormat.TRANSACTION_END) {
+                    long callStart = System.nanoTime();
+                    int bytes = commitTransaction();
+                    statistics.recordCall(type, bytes, System.nanoTime() - callStart, record.getDuration());
+                    inTransaction = false;
+                } else if (type == TraceFormat.COMMAND || type == TraceFormat.DATA) {
+                    addSegment(type == TraceFormat.COMMAND, record.getPayload(), record.getLength());
+                } else {
+                    throw new IOException("unexpected record in transaction: " + record);
+                }
+                continue;
+            }
+
+            waitFor(record.getTimestamp() - firstTimestamp, start, statistics);
+            long callStart = System.nanoTime();
+            switch (type) {
+                case TraceFormat.COMMAND:
+                    byte[] payload = record.getPayload();
+                    int[] commandParams = params(record.getLength() - 1);
+                    for (int i = 0; i < commandParams.length; i++) {
+                        commandParams[i] = payload[i + 1] & 0xFF;
+                    }
+                    target.command(payload[0] & 0xFF, commandParams);
+                    break;
+                case TraceFormat.DATA:
+                    target.data(record.getPayload(), 0, record.getLength());
+                    break;
+                case TraceFormat.RESET:
+                    target.reset();
+                    break;
+                case TraceFormat.TRANSACTION_BEGIN:
+                    inTransaction = true;
+                    transactionDataLength = 0;
+                    segments = 0;
+                    continue;
+                default:
+                    throw new IOException("unexpected record: " + record);
+            }
+            statistics.recordCall(type, record.getLength(), System.nanoTime() - callStart, record.getDuration());
+        }
+        if (inTransaction) {
+            logger.warn("trace ends within a transaction - {} segments dropped", segments);
+        }
+
+        statistics.finish(System.nanoTime() - start, firstTimestamp < 0 ? 0 : lastTimestamp - firstTimestamp);
+        logger.info("replayed: {}", statistics);
+        return statistics;
+    }
+
+    /**
+     * waits until the record's time relative to the start of the replay has come
+     */
+    private void waitFor(long offsetNanos, long start, ReplayStatistics statistics) {
+        if (timing == Timing.MAX_SPEED) {
+            return;
+        }
+        long due = start + (timing == Timing.SCALED ? (long) (offsetNanos / speedFactor) : offsetNanos);
+        long remaining = due - System.nanoTime();
+        if (remaining < 0) {
+            statistics.recordLateness(-remaining);
+            return;
+        }
+        while (remaining > SPIN_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_NANOS);
+            remaining = due - System.nanoTime();
+        }
+        while (System.nanoTime() < due) {
+            // spin for accuracy
+        }
+    }
+
+    private void addSegment(boolean command, byte[] payload, int len) {
+        if (segments == segmentStart.length) {
+            segmentCommand = Arrays.copyOf(segmentCommand, segments * 2);
+            segmentStart = Arrays.copyOf(segmentStart, segments * 2);
+            segmentLength = Arrays.copyOf(segmentLength, segments * 2);
+        }
+        if (transactionDataLength + len > transactionData.length) {
+            transactionData = Arrays.copyOf(transactionData, Math.max(transactionData.length * 2, transactionDataLength + len));
+        }
+        System.arraycopy(payload, 0, transactionData, transactionDataLength, len);
+        segmentCommand[segments] = command;
+        segmentStart[segments] = transactionDataLength;
+        segmentLength[segments] = len;
+        segments++;
+        transactionDataLength += len;
+    }
+
+    private int commitTransaction() throws IOException {
+        DisplayTransaction transaction = target.beginTransaction();
+        for (int i = 0; i < segments; i++) {
+            if (segmentCommand[i]) {
+                transaction.command(transactionData, segmentStart[i], segmentLength[i]);
+            } else {
+                transaction.data(transactionData, segmentStart[i], segmentLength[i]);
+            }
+        }
+        transaction.commit();
+        return transactionDataLength;
+    }
+
+    private int[] params(int count) {
+        if (count >= params.length) {
+            params = Arrays.copyOf(params, count + 1);
+        }
+        if (params[count] == null) {
+            params[count] = new int[count];
+        }
+        return params[count];
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.display4j.core.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * writes trace records through a direct buffer to a file channel
+ *
+ * The buffer is written to the file when full, so recording a call normally only copies its bytes.
+ * Not thread safe - see {@link com.github.display4j.core.conn.RecordingDisplayConnection}.
+ */
+public class TraceWriter implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final long startNanos;
+
+    private long records;
+
+    public TraceWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TraceWriter(Path file, int bufferSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, TraceFormat.HEADER_SIZE + TraceFormat.RECORD_HEADER_SIZE));
+        startNanos = System.nanoTime();
+
+        buffer.putInt(TraceFormat.MAGIC);
+        buffer.putShort(TraceFormat.VERSION);
+        buffer.putShort((short) 0);
+        buffer.putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * @return timestamp for a record - nanoseconds since the trace was started
+     */
+    public long timestamp() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * writes a command record without boxing the parameters
+     */
+    public void writeCommand(long timestamp, long duration, int command, int[] params) throws IOException {
+        writeHeader(TraceFormat.COMMAND, timestamp, duration, params.length + 1);
+        ensureRemaining(params.length + 1);
+        buffer.put((byte) command);
+        for (int param : params) {
+            buffer.put((byte) param);
+        }
+    }
+
+    public void write(byte type, long timestamp, long duration, byte[] payload, int start, int len) throws IOException {
+        writeHeader(type, timestamp, duration, len);
+        if (len > buffer.capacity()) {
+            writeBuffer();
+            ByteBuffer wrapped = ByteBuffer.wrap(payload, start, len);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+            return;
+        }
+        ensureRemaining(len);
+        buffer.put(payload, start, len);
+    }
+
+    public void write(byte type, long timestamp, long duration) throws IOException {
+        writeHeader(type, timestamp, duration, 0);
+    }
+
+    private void writeHeader(byte type, long timestamp, long duration, int len) throws IOException {
+        ensureRemaining(TraceFormat.RECORD_HEADER_SIZE);
+        buffer.put(type);
+        buffer.putLong(timestamp);
+        buffer.putInt((int) Math.min(duration, Integer.MAX_VALUE));
+        buffer.putInt(len);
+        records++;
+    }
+
+    private void ensureRemaining(int len) throws IOException {
+        if (buffer.remaining() < len) {
+            writeBuffer();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * writes buffered records to the file
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+        channel.force(false);
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.display4j.core.update;
+
+import java.util.Arrays;
+
+/**
+ * keeps track of the part of the display buffer modified since the last transfer
+ *
+ * coordinates are given in controller address units (see {@link UpdateWindow}).
+ * For every address row the range of modified columns is recorded, so changes far
+ * apart from each other (f.e. due to odd / even COM splitting on SSD1327) do not
+ * end up in one huge bounding box.
+ * A new region starts completely dirty, as the content of the display RAM is unknown.
+ */
+public class DirtyRegion {
+    private final int columns;
+    private final int rows;
+
+    /** first dirty column per row - Integer.MAX_VALUE if row is clean */
+    private final int[] rowColumnStart;
+    /** last dirty column per row - -1 if row is clean */
+    private final int[] rowColumnEnd;
+
+    private int columnStart;
+    private int columnEnd;
+    private int rowStart;
+    private int rowEnd;
+
+    public DirtyRegion(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.rowColumnStart = new int[rows];
+        this.rowColumnEnd = new int[rows];
+        includeAll();
+    }
+
+    /**
+     * marks a single address (column / row) as dirty
+     */
+    public void include(int column, int row) {
+        if (column < rowColumnStart[row]) {
+            rowColumnStart[row] = column;
+            if (column < columnStart) {
+                columnStart = column;
+            }
+        }
+        if (column > rowColumnEnd[row]) {
+            rowColumnEnd[row] = column;
+            if (column > columnEnd) {
+                columnEnd = column;
+            }
+        }
+        if (row < rowStart) {
+            rowStart = row;
+        }
+        if (row > rowEnd) {
+            rowEnd = row;
+        }
+    }
+
+    /**
+     * marks a rectangular area (inclusive) as dirty
+     */
+    public void include(int columnStart, int columnEnd, int rowStart, int rowEnd) {
+        columnStart = Math.max(columnStart, 0);
+        columnEnd = Math.min(columnEnd, columns - 1);
+        rowStart = Math.max(rowStart, 0);
+        rowEnd = Math.min(rowEnd, rows - 1);
+        if (columnStart > columnEnd) {
+            return;
+        }
+        for (int row = rowStart; row <= rowEnd; row++) {
+            include(columnStart, row);
+            include(columnEnd, row);
+        }
+    }
+
+    /**
+     * marks the whole buffer as dirty
+     */
+    public void includeAll() {
+        Arrays.fill(rowColumnStart, 0);
+        Arrays.fill(rowColumnEnd, columns - 1);
+        columnStart = 0;
+        columnEnd = columns - 1;
+        rowStart = 0;
+        rowEnd = rows - 1;
+    }
+
+    /**
+     * to be called after the dirty part has been transferred to the display
+     */
+    public void clear() {
+        Arrays.fill(rowColumnStart, Integer.MAX_VALUE);
+        Arrays.fill(rowColumnEnd, -1);
+        columnStart = Integer.MAX_VALUE;
+        columnEnd = -1;
+        rowStart = Integer.MAX_VALUE;
+        rowEnd = -1;
+    }
+
+    public boolean isEmpty() {
+        return columnEnd < 0;
+    }
+
+    public boolean isFull() {
+        if (rowStart != 0 || rowEnd != rows - 1) {
+            return false;
+        }
+        for (int row = 0; row < rows; row++) {
+            if (rowColumnStart[row] != 0 || rowColumnEnd[row] != columns - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isRowDirty(int row) {
+        return rowColumnEnd[row] >= 0;
+    }
+
+    public int getRowColumnStart(int row) {
+        return rowColumnStart[row];
+    }
+
+    public int getRowColumnEnd(int row) {
+        return rowColumnEnd[row];
+    }
+
+    /**
+     * fills the given window with the bounding box of all dirty addresses
+     *
+     * @return false if nothing is dirty (window left untouched)
+     */
+    public boolean getBounds(UpdateWindow window) {
+        if (isEmpty()) {
+            return false;
+        }
+        window.set(columnStart, columnEnd, rowStart, rowEnd);
+        return true;
+    }
+
+    /**
+     * collects one window per band of consecutive dirty rows,
+     * spanning the union of the dirty columns of these rows
+     *
+     * @param windows cleared and filled with the bands (top to bottom)
+     */
+    public void collectBands(UpdateWindows windows) {
+        windows.clear();
+        if (isEmpty()) {
+            return;
+        }
+
+        int bandStart = -1;
+        int bandColumnStart = 0;
+        int bandColumnEnd = 0;
+        for (int row = rowStart; row <= rowEnd + 1; row++) {
+            if (row <= rowEnd && isRowDirty(row)) {
+                if (bandStart < 0) {
+                    bandStart = row;
+                    bandColumnStart = rowColumnStart[row];
+                    bandColumnEnd = rowColumnEnd[row];
+                } else {
+                    bandColumnStart = Math.min(bandColumnStart, rowColumnStart[row]);
+                    bandColumnEnd = Math.max(bandColumnEnd, rowColumnEnd[row]);
+                }
+            } else if (bandStart >= 0) {
+                windows.add(bandColumnStart, bandColumnEnd, bandStart, row - 1);
+                bandStart = -1;
+            }
+        }
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "DirtyRegion{empty}";
+        }
+        return "DirtyRegion{" +
+                "columns=" + columnStart + ".." + columnEnd +
+                ", rows=" + rowStart + ".." + rowEnd +
+                '}';
+    }
+}
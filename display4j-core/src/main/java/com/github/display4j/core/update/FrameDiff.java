@@ -0,0 +1,111 @@
+package com.github.display4j.core.update;
+
+/**
+ * compares the current buffer with a copy of the last transmitted one (shadow buffer)
+ * and collects address windows covering only the bytes that really changed
+ *
+ * Changed spans of a row are joined if the unchanged gap between them is cheaper to
+ * resend than opening another window. Spans of consecutive rows are coalesced into
+ * one window as long as the unchanged bytes pulled in cost less than a window's overhead.
+ */
+public class FrameDiff {
+    /**
+     * default cost of an additional address window, in bytes
+     * (column and row address commands incl. parameters plus framing)
+     */
+    public static final int DEFAULT_WINDOW_OVERHEAD = 16;
+
+    private final int columns;
+
+    private int windowOverhead = DEFAULT_WINDOW_OVERHEAD;
+
+    /**
+     * @param columns number of bytes per address row
+     */
+    public FrameDiff(int columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * collects the windows needed to bring the display from <code>previous</code> to <code>current</code>
+     *
+     * @param current the buffer to transmit
+     * @param previous the buffer last transmitted (shadow buffer)
+     * @param candidates only dirty addresses are compared - everything else is known to be unchanged
+     * @param windows cleared and filled with the resulting windows
+     */
+    public void collect(byte[] current, byte[] previous, DirtyRegion candidates, UpdateWindows windows) {
+        windows.clear();
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        for (int row = 0; row < candidates.getRows(); row++) {
+            if (!candidates.isRowDirty(row)) {
+                continue;
+            }
+            int base = row * columns;
+            int spanStart = -1;
+            int lastChanged = -1;
+            for (int col = candidates.getRowColumnStart(row); col <= candidates.getRowColumnEnd(row); col++) {
+                if (current[base + col] == previous[base + col]) {
+                    continue;
+                }
+                if (spanStart >= 0 && col - lastChanged - 1 > windowOverhead) {
+                    addSpan(windows, spanStart, lastChanged, row);
+                    spanStart = -1;
+                }
+                if (spanStart < 0) {
+                    spanStart = col;
+                }
+                lastChanged = col;
+            }
+            if (spanStart >= 0) {
+                addSpan(windows, spanStart, lastChanged, row);
+            }
+        }
+    }
+
+    private void addSpan(UpdateWindows windows, int columnStart, int columnEnd, int row) {
+        int spanSize = columnEnd - columnStart + 1;
+        int best = -1;
+        int bestExtra = windowOverhead + 1;
+
+        for (int i = 0; i < windows.size(); i++) {
+            UpdateWindow window = windows.get(i);
+            if (window.getRowEnd() < row - 1) {
+                // closed - not adjacent to this row
+                continue;
+            }
+            int mergedColumns = Math.max(columnEnd, window.getColumnEnd()) - Math.min(columnStart, window.getColumnStart()) + 1;
+            int mergedRows = row - window.getRowStart() + 1;
+            int extra = mergedColumns * mergedRows - window.getSize() - spanSize;
+            if (extra < bestExtra) {
+                best = i;
+                bestExtra = extra;
+            }
+        }
+
+        if (best < 0) {
+            windows.add(columnStart, columnEnd, row, row);
+        } else {
+            UpdateWindow window = windows.get(best);
+            window.set(Math.min(columnStart, window.getColumnStart()),
+                    Math.max(columnEnd, window.getColumnEnd()),
+                    window.getRowStart(),
+                    row);
+        }
+    }
+
+    public int getWindowOverhead() {
+        return windowOverhead;
+    }
+
+    /**
+     * @param windowOverhead cost of an additional window in bytes - unchanged bytes up to this amount
+     *                       are resent rather than starting a new window
+     */
+    public void setWindowOverhead(int windowOverhead) {
+        this.windowOverhead = windowOverhead;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.display4j.core.update;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * lock-free triple buffer for display frames
+ *
+ * The render thread draws into the <i>back</i> buffer and publishes it with {@link #publish()},
+ * the flush thread takes the newest published frame with {@link #acquire()} and reads it
+ * from the <i>front</i> buffer. Both sides only swap an index with the <i>pending</i> slot
+ * atomically, so neither blocks the other and the flushed frame is always complete.
+ * Frames published while the flush thread is busy are replaced by newer ones (latest frame wins).
+ */
+public class FrameStore {
+    private static final int INDEX_MASK = 0x3;
+    /** set if the pending slot holds a frame not yet acquired */
+    private static final int FRESH = 0x4;
+
+    private final byte[][] buffers;
+
+    /** index of the pending buffer plus FRESH flag */
+    private final AtomicInteger pending;
+
+    /** owned by the render thread */
+    private int backIndex = 0;
+
+    /** owned by the flush thread */
+    private int frontIndex = 2;
+
+    /**
+     * @param back the buffer the render thread currently draws into
+     * @param pending a second buffer of the same size
+     * @param front a third buffer of the same size
+     */
+    public FrameStore(byte[] back, byte[] pending, byte[] front) {
+        this.buffers = new byte[][] {back, pending, front};
+        this.pending = new AtomicInteger(1);
+    }
+
+    /**
+     * publishes the back buffer as newest frame - render thread only
+     *
+     * @return the new back buffer (content undefined)
+     */
+    public byte[] publish() {
+        int old = pending.getAndSet(backIndex | FRESH);
+        backIndex = old & INDEX_MASK;
+        return buffers[backIndex];
+    }
+
+    /**
+     * takes the newest published frame as front buffer - flush thread only
+     *
+     * @return false if nothing has been published since the last call
+     */
+    public boolean acquire() {
+        if ((pending.get() & FRESH) == 0) {
+            return false;
+        }
+        int old = pending.getAndSet(frontIndex);
+        frontIndex = old & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * @return the buffer the render thread draws into
+     */
+    public byte[] getBack() {
+        return buffers[backIndex];
+    }
+
+    /**
+     * @return the frame acquired last - flush thread only
+     */
+    public byte[] getFront() {
+        return buffers[frontIndex];
+    }
+
+    /**
+     * @return whether a published frame waits for the flush thread
+     */
+    public boolean hasPending() {
+        return (pending.get() & FRESH) != 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.display4j.core.update;
+
+import com.github.display4j.core.conn.TransferCostModel;
+
+/**
+ * decides how a set of changed windows is sent to the display
+ *
+ * Candidates are
+ * <ul>
+ *     <li>{@link PlanType#FULL}: one window covering the whole display RAM</li>
+ *     <li>{@link PlanType#WINDOWED}: the given windows or their bounding box, each set up by
+ *     a column and a row (page) address command</li>
+ *     <li>{@link PlanType#PAGE}: page addressing mode (SSD1306 only), every row of every window
+ *     set up by page start and lower / higher column start commands</li>
+ * </ul>
+ * The candidate with the lowest cost according to the connection's {@link TransferCostModel} wins.
+ */
+public class UpdatePlanner {
+    public enum PlanType {
+        FULL,
+        WINDOWED,
+        PAGE
+    }
+
+    /** commands needed to set up an address window */
+    public static final int WINDOW_SETUP_COMMANDS = 2;
+    /** bytes needed to set up an address window (2 commands with 2 params each) */
+    public static final int WINDOW_SETUP_BYTES = 6;
+    /** commands needed to set up a page mode row (page start, lower and higher column start) */
+    public static final int PAGE_SETUP_COMMANDS = 3;
+    /** bytes needed to set up a page mode row */
+    public static final int PAGE_SETUP_BYTES = 3;
+    /** bytes needed to switch the memory addressing mode */
+    public static final int MODE_SWITCH_BYTES = 2;
+
+    private final int columns;
+    private final int rows;
+    private final boolean pageModeSupported;
+
+    private TransferCostModel costModel = TransferCostModel.DEFAULT;
+    private int maxTransferSize = Integer.MAX_VALUE;
+
+    private final UpdateWindow boundingBox = new UpdateWindow();
+
+    private final UpdateStatistics statistics = new UpdateStatistics();
+
+    /**
+     * @param columns number of address columns of the display
+     * @param rows number of address rows (pages) of the display
+     * @param pageModeSupported whether the controller offers page addressing mode
+     */
+    public UpdatePlanner(int columns, int rows, boolean pageModeSupported) {
+        this.columns = columns;
+        this.rows = rows;
+        this.pageModeSupported = pageModeSupported;
+    }
+
+    /**
+     * chooses the cheapest way to send the windows
+     *
+     * @param windows the changed windows - replaced by the windows of the chosen plan
+     * @param pageModeActive whether the controller currently is in page addressing mode
+     * @return the chosen plan
+     */
+    public PlanType plan(UpdateWindows windows, boolean pageModeActive) {
+        long fullCost = windowCost(columns * rows) + modeSwitchCost(pageModeActive);
+
+        long windowedCost = modeSwitchCost(pageModeActive);
+        long pageCost = modeSwitchCost(!pageModeActive);
+        int bbColumnStart = Integer.MAX_VALUE;
+        int bbColumnEnd = -1;
+        int bbRowStart = Integer.MAX_VALUE;
+        int bbRowEnd = -1;
+        for (int i = 0; i < windows.size(); i++) {
+            UpdateWindow window = windows.get(i);
+            windowedCost += windowCost(window.getSize());
+            pageCost += window.getRows() * pageRowCost(window.getColumns());
+            bbColumnStart = Math.min(bbColumnStart, window.getColumnStart());
+            bbColumnEnd = Math.max(bbColumnEnd, window.getColumnEnd());
+            bbRowStart = Math.min(bbRowStart, window.getRowStart());
+            bbRowEnd = Math.max(bbRowEnd, window.getRowEnd());
+        }
+        boundingBox.set(bbColumnStart, bbColumnEnd, bbRowStart, bbRowEnd);
+        long boundingBoxCost = windowCost(boundingBox.getSize()) + modeSwitchCost(pageModeActive);
+
+        PlanType plan = PlanType.WINDOWED;
+        long cost = windowedCost;
+        boolean useBoundingBox = false;
+        if (windows.size() > 1 && boundingBoxCost < cost) {
+            cost = boundingBoxCost;
+            useBoundingBox = true;
+        }
+        if (pageModeSupported && pageCost < cost) {
+            plan = PlanType.PAGE;
+            cost = pageCost;
+            useBoundingBox = false;
+        }
+        if (fullCost < cost) {
+            plan = PlanType.FULL;
+            cost = fullCost;
+            windows.clear();
+            windows.add(0, columns - 1, 0, rows - 1);
+        } else if (useBoundingBox) {
+            windows.clear();
+            windows.add(bbColumnStart, bbColumnEnd, bbRowStart, bbRowEnd);
+        }
+
+        statistics.record(plan, windows.size(), windows.getTotalSize(), cost);
+        return plan;
+    }
+
+    /**
+     * @return cost of an additional address window (setup commands and data transaction)
+     *  - used as merge threshold when collecting windows
+     */
+    public int getWindowOverhead() {
+        return (int) (costModel.commandCost(WINDOW_SETUP_COMMANDS, WINDOW_SETUP_BYTES) + costModel.cost(1, 0));
+    }
+
+    private long windowCost(int size) {
+        return costModel.commandCost(WINDOW_SETUP_COMMANDS, WINDOW_SETUP_BYTES) + costModel.cost(transfers(size), size);
+    }
+
+    private long pageRowCost(int size) {
+        return costModel.commandCost(PAGE_SETUP_COMMANDS, PAGE_SETUP_BYTES) + costModel.cost(transfers(size), size);
+    }
+
+    private long modeSwitchCost(boolean switchNeeded) {
+        if (!pageModeSupported || !switchNeeded) {
+            return 0;
+        }
+        return costModel.commandCost(1, MODE_SWITCH_BYTES);
+    }
+
+    private int transfers(int size) {
+        // no rounding up by addition - maxTransferSize defaults to Integer.MAX_VALUE
+        return size == 0 ? 0 : 1 + (size - 1) / maxTransferSize;
+    }
+
+    public TransferCostModel getCostModel() {
+        return costModel;
+    }
+
+    public void setCostModel(TransferCostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    public int getMaxTransferSize() {
+        return maxTransferSize;
+    }
+
+    public void setMaxTransferSize(int maxTransferSize) {
+        this.maxTransferSize = maxTransferSize;
+    }
+
+    public UpdateStatistics getStatistics() {
+        return statistics;
+    }
+}
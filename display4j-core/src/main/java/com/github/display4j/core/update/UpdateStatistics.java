@@ -0,0 +1,77 @@
+package com.github.display4j.core.update;
+
+/**
+ * counts the plans chosen by the {@link UpdatePlanner} and what they cost
+ */
+public class UpdateStatistics {
+    private final long[] plans = new long[UpdatePlanner.PlanType.values().length];
+    private long frames;
+    private long windows;
+    private long bytes;
+    private long cost;
+
+    synchronized void record(UpdatePlanner.PlanType plan, int windows, int bytes, long cost) {
+        this.plans[plan.ordinal()]++;
+        this.frames++;
+        this.windows += windows;
+        this.bytes += bytes;
+        this.cost += cost;
+    }
+
+    /**
+     * @return number of frames sent (frames without changes are not counted)
+     */
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return number of frames sent with the given plan
+     */
+    public synchronized long getPlanCount(UpdatePlanner.PlanType plan) {
+        return plans[plan.ordinal()];
+    }
+
+    /**
+     * @return number of address windows sent
+     */
+    public synchronized long getWindows() {
+        return windows;
+    }
+
+    /**
+     * @return number of display RAM bytes sent
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return estimated cost of all frames in byte times
+     */
+    public synchronized long getCost() {
+        return cost;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = 0;
+        }
+        frames = 0;
+        windows = 0;
+        bytes = 0;
+        cost = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("UpdateStatistics{frames=").append(frames);
+        for (UpdatePlanner.PlanType plan : UpdatePlanner.PlanType.values()) {
+            sb.append(", ").append(plan).append('=').append(plans[plan.ordinal()]);
+        }
+        return sb.append(", windows=").append(windows)
+                .append(", bytes=").append(bytes)
+                .append(", cost=").append(cost)
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.display4j.core.update;
+
+/**
+ * rectangular address window of the display RAM
+ *
+ * coordinates are given in controller address units (inclusive) - for SSD1306
+ * these are columns and pages, for SSD1327 byte-columns (2 pixels each) and rows
+ */
+public class UpdateWindow {
+    private int columnStart;
+    private int columnEnd;
+    private int rowStart;
+    private int rowEnd;
+
+    public UpdateWindow() {
+    }
+
+    public UpdateWindow(int columnStart, int columnEnd, int rowStart, int rowEnd) {
+        set(columnStart, columnEnd, rowStart, rowEnd);
+    }
+
+    public void set(int columnStart, int columnEnd, int rowStart, int rowEnd) {
+        this.columnStart = columnStart;
+        this.columnEnd = columnEnd;
+        this.rowStart = rowStart;
+        this.rowEnd = rowEnd;
+    }
+
+    public int getColumnStart() {
+        return columnStart;
+    }
+
+    public int getColumnEnd() {
+        return columnEnd;
+    }
+
+    public int getRowStart() {
+        return rowStart;
+    }
+
+    public int getRowEnd() {
+        return rowEnd;
+    }
+
+    public int getColumns() {
+        return columnEnd - columnStart + 1;
+    }
+
+    public int getRows() {
+        return rowEnd - rowStart + 1;
+    }
+
+    /**
+     * @return number of bytes needed to fill the window
+     */
+    public int getSize() {
+        return getColumns() * getRows();
+    }
+
+    @Override
+    public String toString() {
+        return "UpdateWindow{" +
+                "columns=" + columnStart + ".." + columnEnd +
+                ", rows=" + rowStart + ".." + rowEnd +
+                '}';
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.display4j.core.update;
+
+/**
+ * reusable list of {@link UpdateWindow}s
+ *
+ * windows are recycled on {@link #clear()}, so collecting the windows of a frame
+ * does not allocate once the list has grown to its working size
+ */
+public class UpdateWindows {
+    private UpdateWindow[] windows = new UpdateWindow[8];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * appends a window
+     *
+     * @return the (recycled) window instance holding the given coordinates
+     */
+    public UpdateWindow add(int columnStart, int columnEnd, int rowStart, int rowEnd) {
+        if (size == windows.length) {
+            UpdateWindow[] grown = new UpdateWindow[windows.length * 2];
+            System.arraycopy(windows, 0, grown, 0, size);
+            windows = grown;
+        }
+        UpdateWindow window = windows[size];
+        if (window == null) {
+            window = new UpdateWindow();
+            windows[size] = window;
+        }
+        window.set(columnStart, columnEnd, rowStart, rowEnd);
+        size++;
+        return window;
+    }
+
+    public UpdateWindow get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return windows[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return sum of the bytes covered by all windows
+     */
+    public int getTotalSize() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += windows[i].getSize();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("UpdateWindows{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(windows[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
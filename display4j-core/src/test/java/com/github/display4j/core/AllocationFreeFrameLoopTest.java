@@ -0,0 +1,109 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayConnection;
+import com.github.display4j.core.conn.FlightRecorderDisplayConnection;
+import com.github.display4j.core.conn.MetricsDisplayConnection;
+import com.github.display4j.core.emulator.SSD1306Emulator;
+import com.github.display4j.core.emulator.SSD1327Emulator;
+import com.github.display4j.core.font.CodePage437;
+import com.github.display4j.core.font.Font;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * the steady state frame loop - clear, draw text / lines / pixels, display - must not allocate
+ *
+ * Measured with the per thread allocation counter of the HotSpot ThreadMXBean, after a warm-up
+ * round so lazily grown buffers and JIT compilation are done.
+ */
+public class AllocationFreeFrameLoopTest {
+    private static final int FRAMES = 2000;
+
+    private static final String[] TEXTS = {"frame 0", "frame 1", "frame 22", "x"};
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void ssd1306() throws IOException {
+        assertAllocationFree(new SSD1306(new SSD1306Emulator(128, 64), 128, 64), false);
+    }
+
+    @Test
+    public void ssd1306FrameDiffing() throws IOException {
+        assertAllocationFree(new SSD1306(new SSD1306Emulator(128, 64), 128, 64), true);
+    }
+
+    @Test
+    public void ssd1327() throws IOException {
+        assertAllocationFree(new SSD1327(new SSD1327Emulator(128, 128), 128, 128), false);
+    }
+
+    @Test
+    public void ssd1327FrameDiffing() throws IOException {
+        assertAllocationFree(new SSD1327(new SSD1327Emulator(128, 128), 128, 128), true);
+    }
+
+    /**
+     * decorators forward the fixed-arity commands (here the contrast set each frame) without boxing the parameters
+     */
+    @Test
+    public void decoratedConnection() throws IOException {
+        DisplayConnection dspConn = new MetricsDisplayConnection(
+                new FlightRecorderDisplayConnection(new SSD1306Emulator(128, 64)));
+        assertAllocationFree(new SSD1306(dspConn, 128, 64), true, true);
+    }
+
+    private void assertAllocationFree(SSDisplay display, boolean frameDiffing) throws IOException {
+        assertAllocationFree(display, frameDiffing, false);
+    }
+
+    private void assertAllocationFree(SSDisplay display, boolean frameDiffing, boolean contrast) throws IOException {
+        display.setFrameDiffing(frameDiffing);
+        display.startup(false);
+
+        // warm-up
+        drawFrames(display, contrast);
+
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+
+        long before = allocatedBytes();
+        drawFrames(display, contrast);
+        long allocated = allocatedBytes() - before - overhead;
+
+        assertEquals("bytes allocated per frame", 0, allocated / FRAMES);
+    }
+
+    private static void drawFrames(SSDisplay display, boolean contrast) throws IOException {
+        Graphics g = display.getGraphics();
+        Font font = new CodePage437();
+        for (int f = 0; f < FRAMES; f++) {
+            display.clearBuffer();
+            g.text(f % 100, 10, font, TEXTS[f & 3]);
+            g.line(0, f % 32, 100, 31);
+            display.setPixel(f % 128, f % 32, true);
+            if (contrast) {
+                display.setContrast(f & 0xFF);
+            }
+            display.display();
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
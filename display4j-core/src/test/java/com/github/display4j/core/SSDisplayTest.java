@@ -0,0 +1,113 @@
+package com.github.display4j.core;
+
+import com.github.display4j.core.conn.DisplayTransaction;
+import com.github.display4j.core.conn.ForwardingDisplayConnection;
+import com.github.display4j.core.emulator.SSD1306Emulator;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * frame updates against the emulated controller
+ */
+public class SSDisplayTest {
+
+    /**
+     * like the pi4j transports: a failed write is counted, not thrown
+     */
+    private static class FailingConnection extends ForwardingDisplayConnection {
+        boolean fail;
+
+        FailingConnection(SSD1306Emulator emulator) {
+            super(emulator);
+        }
+
+        @Override
+        public void execute(DisplayTransaction transaction) throws IOException {
+            if (fail) {
+                fail = false;
+                writeErrors++;
+                return;
+            }
+            super.execute(transaction);
+        }
+    }
+
+    @Test
+    public void windowsOfCountedWriteErrorAreSentAgain() throws IOException {
+        windowsOfCountedWriteErrorAreSentAgain(false);
+        windowsOfCountedWriteErrorAreSentAgain(true);
+    }
+
+    private void windowsOfCountedWriteErrorAreSentAgain(boolean frameDiffing) throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        FailingConnection dspConn = new FailingConnection(emulator);
+        SSD1306 display = new SSD1306(dspConn, 128, 64);
+        display.setFrameDiffing(frameDiffing);
+        display.startup(false);
+        display.display();
+
+        display.setPixel(10, 10, true);
+        dspConn.fail = true;
+        display.display();
+        assertFalse(emulator.isPixelOn(10, 10));
+
+        display.display();
+        assertTrue(emulator.isPixelOn(10, 10));
+    }
+
+    /**
+     * the segment remap only applies to data written afterwards
+     */
+    @Test
+    public void hFlipRewritesDisplayRam() throws IOException {
+        hFlipRewritesDisplayRam(false, false);
+        hFlipRewritesDisplayRam(true, false);
+        hFlipRewritesDisplayRam(true, true);
+    }
+
+    private void hFlipRewritesDisplayRam(boolean frameDiffing, boolean tripleBuffered) throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        SSD1306 display = new SSD1306(emulator, 128, 64);
+        display.setFrameDiffing(frameDiffing);
+        display.setTripleBuffered(tripleBuffered);
+        display.startup(false);
+        display.setPixel(10, 10, true);
+        display.display();
+
+        long dataBytes = emulator.getDataBytes();
+        display.setHFlipped(true);
+        assertEquals(128 * 64 / 8, emulator.getDataBytes() - dataBytes);
+    }
+
+    /**
+     * narrow windows of several frames in one transaction exceed the window buffer
+     */
+    @Test
+    public void framesCollectedInOneTransaction() throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        SSD1306 display = new SSD1306(emulator, 128, 64);
+        display.setFrameDiffing(true);
+        display.startup(false);
+        display.display();
+
+        display.beginTransaction();
+        for (int frame = 0; frame < 4; frame++) {
+            display.clearBuffer();
+            for (int x = 40; x < 80; x++) {
+                for (int y = 0; y < 64; y++) {
+                    display.setPixel(x, y, (x + y + frame) % 3 == 0);
+                }
+            }
+            display.display();
+        }
+        display.commitTransaction();
+
+        assertArrayEquals(display.getBuffer(), emulator.getFrame());
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.display4j.core.conn;
+
+import com.github.display4j.core.CommandSSD1306;
+import com.github.display4j.core.emulator.SSD1306Emulator;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class SimulatedBusConnectionTest {
+    private static final CommandSSD1306 commandset = new CommandSSD1306();
+
+    @Test
+    public void oversizedDataIsNotPassedOn() throws IOException {
+        assertDelivered(SimulatedBusConnection.i2c(400_000), 1);
+        assertDelivered(SimulatedBusConnection.spi(8_000_000), 2);
+    }
+
+    /**
+     * @param commands commands reaching the target - inlined commands are lost with the data write they ride in
+     */
+    private void assertDelivered(SimulatedBusConnection bus, int commands) throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        bus.setTarget(emulator);
+        bus.setMaxTransferSize(16);
+
+        bus.beginTransaction()
+                .command(commandset.SET_COLUMN_ADDRESS, 0, 127)
+                .data(new byte[32], 0, 32)
+                .command(commandset.SET_PAGE_ADDRESS, 0, 7)
+                .data(new byte[8], 0, 8)
+                .commit();
+
+        assertEquals(1, bus.getWriteErrors());
+        assertEquals(8, emulator.getDataBytes());
+        assertEquals(commands, emulator.getCommands());
+    }
+}
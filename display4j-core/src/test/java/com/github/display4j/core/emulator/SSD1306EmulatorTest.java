@@ -0,0 +1,41 @@
+package com.github.display4j.core.emulator;
+
+import com.github.display4j.core.CommandSSD1306;
+import com.github.display4j.core.SSD1306;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SSD1306EmulatorTest {
+    private static final CommandSSD1306 commandset = new CommandSSD1306();
+
+    @Test
+    public void segmentRemapKeepsWrittenRam() throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        SSD1306 display = new SSD1306(emulator, 128, 64);
+        display.startup(false);
+        display.setPixel(10, 10, true);
+        display.display();
+
+        emulator.command(commandset.SET_SEGMENT_REMAP);
+        assertTrue(emulator.isPixelOn(10, 10));
+        assertFalse(emulator.isPixelOn(117, 10));
+    }
+
+    @Test
+    public void hFlippedDisplayShowsMirroredFrame() throws IOException {
+        SSD1306Emulator emulator = new SSD1306Emulator(128, 64);
+        SSD1306 display = new SSD1306(emulator, 128, 64);
+        display.setFrameDiffing(true);
+        display.startup(false);
+        display.setPixel(10, 10, true);
+        display.display();
+
+        display.setHFlipped(true);
+        assertFalse(emulator.isPixelOn(10, 10));
+        assertTrue(emulator.isPixelOn(117, 10));
+    }
+}
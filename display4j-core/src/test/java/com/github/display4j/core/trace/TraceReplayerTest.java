@@ -0,0 +1,32 @@
+package com.github.display4j.core.trace;
+
+import com.github.display4j.core.emulator.SSD1306Emulator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TraceReplayerTest {
+
+    @Test
+    public void commandRecordWithoutOpcodeIsCorrupt() throws IOException {
+        Path trace = Files.createTempFile("display4j", ".trace");
+        try {
+            try (TraceWriter writer = new TraceWriter(trace)) {
+                writer.write(TraceFormat.COMMAND, 0, 0, new byte[0], 0, 0);
+            }
+            try {
+                new TraceReplayer(new SSD1306Emulator(128, 64)).replay(trace);
+                fail("corrupt record replayed");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("corrupt command record"));
+            }
+        } finally {
+            Files.delete(trace);
+        }
+    }
+}
@@ -8,10 +8,14 @@ import com.pi4j.io.gpio.Pin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * base of the pi4j transports - the GPIO controller is only obtained if a pin is used
+ * (reset or data / command), so an I2C connection without reset pin never loads the native GPIO library
+ */
 public abstract class DisplayConnectionGPIO extends DisplayConnection {
     private static final Logger logger = LoggerFactory.getLogger(DisplayConnectionGPIO.class);
     /**
-     * The internal GPIO instance.
+     * The internal GPIO instance - use {@link #getGpio()}, null until needed.
      */
     protected GpioController gpio;
 
@@ -36,13 +40,20 @@ public abstract class DisplayConnectionGPIO extends DisplayConnection {
     }
 
     private void init() {
+        if (rstPin != null) {
+            this.rstOutputPin = getGpio().provisionDigitalOutputPin(rstPin);
+        }
+    }
+
+    /**
+     * @return the GPIO controller given on construction - or the default one, created on first use
+     */
+    protected synchronized GpioController getGpio() {
         if (gpio == null) {
             gpio = GpioFactory.getInstance();
             selfInstanciatedGpioController = true;
         }
-        if (rstPin != null) {
-            this.rstOutputPin = gpio.provisionDigitalOutputPin(rstPin);
-        }
+        return gpio;
     }
 
     /**
@@ -0,0 +1,280 @@
+package com.github.display4j.core.conn.pi4j;
+
+import com.github.display4j.core.conn.DisplayTransaction;
+import com.github.display4j.core.conn.TransferCostModel;
+import com.github.display4j.core.misc.HexConversionHelper;
+import com.pi4j.io.gpio.GpioController;
+import com.pi4j.io.gpio.Pin;
+import com.pi4j.io.i2c.I2CDevice;
+import com.pi4j.io.i2c.I2CFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class DisplayConnectionI2C extends DisplayConnectionGPIO {
+    private static final Logger logger = LoggerFactory.getLogger(DisplayConnectionI2C.class);
+
+    /**
+     * The internal I<sup>2</sup>C device.
+     */
+    private I2CDevice i2c;
+
+    /**
+     * The Data/Command bit position.
+     */
+    private static final int DC_BIT = 6;
+
+    /**
+     * The Continuation bit position - if set, only the next byte belongs to the control byte.
+     */
+    private static final int CO_BIT = 7;
+
+
+    public static final int DEFAULT_I2C_BUS_ID = 1;
+    public static final int DEFAULT_I2C_ADDRESS = 0x3c;
+
+    /**
+     * device address, control byte and start / stop condition plus the driver call
+     */
+    public static final TransferCostModel I2C_COST_MODEL = new TransferCostModel(4, TransferCostModel.CommandBatching.INLINE);
+
+    /**
+     * payload bytes per write known to work - PI4j fails on a whole SSD1327 frame (8192 bytes + control byte)
+     */
+    public static final int DEFAULT_MAX_TRANSFER_SIZE = 4096;
+
+    /**
+     * initial size of the framing buffer (control byte + SSD1306 128x64 frame)
+     */
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 1025;
+
+    /**
+     * reused for every write - control byte followed by command or data bytes
+     */
+    private byte[] writeBuffer = new byte[DEFAULT_WRITE_BUFFER_SIZE];
+
+    private int i2cBusId = DEFAULT_I2C_BUS_ID;
+    private int i2cAddress = DEFAULT_I2C_ADDRESS;
+
+    /**
+     * minimal constructor - will use DEFAULT_I2C_BUS_ID and DEFAULT_I2C_ADDRESS
+     */
+    public DisplayConnectionI2C() throws IOException {
+        init();
+    }
+
+
+    public DisplayConnectionI2C(int i2cBusId, int i2cAddress) throws IOException {
+        this.i2cBusId = i2cBusId;
+        this.i2cAddress = i2cAddress;
+        init();
+    }
+
+    /**
+     * all parameters are optional
+     *
+     * @param gpioInstance
+     * @param i2cBusId
+     * @param i2cAddress
+     * @param rstPin
+     */
+    public DisplayConnectionI2C(GpioController gpioInstance, int i2cBusId, int i2cAddress, Pin rstPin) throws IOException {
+        super(gpioInstance, rstPin);
+        this.i2cBusId = i2cBusId;
+        this.i2cAddress = i2cAddress;
+        init();
+    }
+
+    protected void init() throws IOException {
+        setTransferCostModel(I2C_COST_MODEL);
+        setMaxTransferSize(DEFAULT_MAX_TRANSFER_SIZE);
+
+        if (i2cBusId <= 0) {
+            i2cBusId = DEFAULT_I2C_BUS_ID;
+        }
+        if (i2cAddress <= 0) {
+            i2cAddress = DEFAULT_I2C_ADDRESS;
+        }
+        try {
+            i2c = I2CFactory.getInstance(i2cBusId).getDevice(i2cAddress);
+        } catch (I2CFactory.UnsupportedBusNumberException e) {
+            // rethrow as IOException
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void command(int command, int... params) {
+        byte[] commandBytes = getCommandBuffer(command, params.length);
+        for (int i = 0; i < params.length; i++) {
+            commandBytes[i + 2] = (byte) params[i];
+        }
+        writeCommand(commandBytes, params.length + 2);
+    }
+
+    @Override
+    public synchronized void command(int command) {
+        writeCommand(getCommandBuffer(command, 0), 2);
+    }
+
+    @Override
+    public synchronized void command(int command, int param) {
+        byte[] commandBytes = getCommandBuffer(command, 1);
+        commandBytes[2] = (byte) param;
+        writeCommand(commandBytes, 3);
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) {
+        byte[] commandBytes = getCommandBuffer(command, 2);
+        commandBytes[2] = (byte) param1;
+        commandBytes[3] = (byte) param2;
+        writeCommand(commandBytes, 4);
+    }
+
+    /**
+     * @return the write buffer starting with control byte and command
+     */
+    private byte[] getCommandBuffer(int command, int params) {
+        byte[] commandBytes = getWriteBuffer(params + 2);
+        commandBytes[0] = (byte) (0 << DC_BIT);
+        commandBytes[1] = (byte) command;
+        return commandBytes;
+    }
+
+    private void writeCommand(byte[] commandBytes, int len) {
+        try {
+            i2c.write(commandBytes, 0, len);
+        } catch (IOException e) {
+            writeErrors++;
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void data(byte[] data) {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) {
+        byte[] dataBytes = getWriteBuffer(len + 1);
+        dataBytes[0] = (byte) (1 << DC_BIT);
+        System.arraycopy(data, start, dataBytes, 1, len);
+
+        try {
+            i2c.write(dataBytes, 0, len + 1);
+        } catch (IOException e) {
+            logger.error("Exception on write: {}", e.getMessage());
+            logger.error("\tdataBytes.len: {} bytes", len + 1);
+            logger.error("\tdata: {} bytes", HexConversionHelper.bytesToHex(Arrays.copyOfRange(data, start, start + len)));
+            writeErrors++;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * sends one I2C write per data segment, carrying the preceding commands as
+     * single bytes with continuation bit set, followed by the data stream.
+     * Commands after the last data segment are sent as one command stream.
+     * The inline commands count against the maximum transfer size - if they do not fit
+     * into the write of the following data segment, they are sent on their own first.
+     * The trailing command stream is split into writes of the maximum transfer size as well.
+     */
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) throws IOException {
+        int lastData = -1;
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            if (!transaction.isCommand(i)) {
+                lastData = i;
+            }
+        }
+
+        byte[] writeBytes = getWriteBuffer(2 * transaction.getCommandLength() + transaction.getDataLength() + 1);
+        // control byte + payload, as for a plain data write - saturated for the unlimited default
+        int maxTransferSize = getMaxTransferSize();
+        int maxWrite = maxTransferSize == Integer.MAX_VALUE ? maxTransferSize : maxTransferSize + 1;
+        int pos = 0;
+        for (int i = 0; i < transaction.getSegmentCount(); i++) {
+            byte[] bytes = transaction.getSegmentData(i);
+            int start = transaction.getSegmentStart(i);
+            int len = transaction.getSegmentLength(i);
+
+            if (transaction.isCommand(i) && i < lastData) {
+                for (int b = start; b < start + len; b++) {
+                    if (pos + 2 > maxWrite) {
+                        writeTransaction(writeBytes, pos);
+                        pos = 0;
+                    }
+                    writeBytes[pos++] = (byte) (1 << CO_BIT);
+                    writeBytes[pos++] = bytes[b];
+                }
+            } else if (transaction.isCommand(i)) {
+                // trailing commands - one stream, split between commands where the limit requires
+                if (pos > 0 && pos + len > maxWrite) {
+                    writeTransaction(writeBytes, pos);
+                    pos = 0;
+                }
+                for (int b = start; b < start + len; b++) {
+                    if (pos == maxWrite) {
+                        writeTransaction(writeBytes, pos);
+                        pos = 0;
+                    }
+                    if (pos == 0) {
+                        writeBytes[pos++] = (byte) (0 << DC_BIT);
+                    }
+                    writeBytes[pos++] = bytes[b];
+                }
+            } else {
+                if (pos > 0 && pos + 1 + len > maxWrite) {
+                    writeTransaction(writeBytes, pos);
+                    pos = 0;
+                }
+                writeBytes[pos++] = (byte) (1 << DC_BIT);
+                System.arraycopy(bytes, start, writeBytes, pos, len);
+                pos += len;
+                writeTransaction(writeBytes, pos);
+                // write is synchronous - buffer is reused for the next one
+                pos = 0;
+            }
+        }
+        if (pos > 0) {
+            writeTransaction(writeBytes, pos);
+        }
+    }
+
+    private void writeTransaction(byte[] writeBytes, int len) {
+        try {
+            i2c.write(writeBytes, 0, len);
+        } catch (IOException e) {
+            logger.error("Exception on write: {}", e.getMessage());
+            logger.error("\twriteBytes.len: {} bytes", len);
+            writeErrors++;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * the control byte has to precede the payload in the same write -
+     * the framing buffer is kept and only grown, so a steady frame loop does not allocate
+     *
+     * @param len minimum length needed
+     */
+    private byte[] getWriteBuffer(int len) {
+        if (writeBuffer.length < len) {
+            writeBuffer = new byte[Math.max(len, writeBuffer.length * 2)];
+        }
+        return writeBuffer;
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayConnectionI2C{" +
+                "i2cBusId=" + i2cBusId +
+                ", i2cAddress=" + i2cAddress +
+                ", rstPin=" + rstPin +
+                '}';
+    }
+}
@@ -0,0 +1,238 @@
+package com.github.display4j.core.conn.pi4j;
+
+import com.github.display4j.core.conn.DisplayTransaction;
+import com.github.display4j.core.conn.TransferCostModel;
+import com.pi4j.io.gpio.GpioController;
+import com.pi4j.io.gpio.GpioPinDigitalOutput;
+import com.pi4j.io.gpio.Pin;
+import com.pi4j.io.gpio.RaspiPin;
+import com.pi4j.io.spi.SpiChannel;
+import com.pi4j.io.spi.SpiDevice;
+import com.pi4j.io.spi.SpiFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+public class DisplayConnectionSPI extends DisplayConnectionGPIO {
+    private static final Logger logger = LoggerFactory.getLogger(DisplayConnectionSPI.class);
+    public static final int DEFAULT_SPI_SPEED = 8000000;
+
+    /**
+     * default buffer size of the spidev kernel driver
+     */
+    public static final int DEFAULT_MAX_TRANSFER_SIZE = 4096;
+
+    /**
+     * bytes are cheap at 8 MHz - toggling the D/C pin and the driver call per transaction are not
+     */
+    public static final TransferCostModel SPI_COST_MODEL = new TransferCostModel(32, TransferCostModel.CommandBatching.SEPARATE);
+
+    /**
+     * The internal SPI device.
+     */
+    private SpiDevice spi;
+
+    protected SpiChannel spiChannel;
+
+    protected int spiSpeed = DEFAULT_SPI_SPEED;
+
+
+    private GpioPinDigitalOutput dcOutputPin;
+    private Pin dcPin;
+
+    private static final int DC_UNKNOWN = -1;
+    private static final int DC_COMMAND = 0;
+    private static final int DC_DATA = 1;
+
+    /**
+     * last state set on the D/C pin
+     */
+    private int dcState = DC_UNKNOWN;
+
+    /**
+     * reused for commands with their parameters
+     */
+    private byte[] commandBytes = new byte[8];
+
+    private long gpioToggles;
+    private long spiWrites;
+
+    public DisplayConnectionSPI() throws IOException {
+        this.dcPin = RaspiPin.GPIO_16;
+        init();
+    }
+
+    /**
+     * minimal constructor
+     * @param spiChannel
+     */
+    public DisplayConnectionSPI(SpiChannel spiChannel) throws IOException {
+        this.spiChannel = spiChannel;
+        init();
+    }
+
+    /**
+     * only obligatory param is spiChannel
+     *
+     * @param gpioInstance
+     * @param spiChannel
+     * @param spiSpeed
+     * @param rstPin
+     * @param dcPin
+     */
+    public DisplayConnectionSPI(GpioController gpioInstance, SpiChannel spiChannel, int spiSpeed, Pin rstPin, Pin dcPin) throws IOException {
+        super(gpioInstance, rstPin);
+        this.spiChannel = spiChannel;
+        this.spiSpeed = spiSpeed;
+        this.dcPin = dcPin;
+        init();
+    }
+
+
+    protected void init() throws IOException {
+        setTransferCostModel(SPI_COST_MODEL);
+        setMaxTransferSize(DEFAULT_MAX_TRANSFER_SIZE);
+
+        if (dcPin == null) {
+            throw new IOException("need dcPin specification");
+        } else {
+            this.dcOutputPin = getGpio().provisionDigitalOutputPin(dcPin);
+        }
+
+        if (spiChannel == null) {
+            spiChannel = SpiChannel.getByNumber(0);
+        }
+        this.spi = SpiFactory.getInstance(spiChannel, spiSpeed);
+
+        logger.debug("initialized spiChannel {} with dcPin {}", spiChannel, dcPin);
+    }
+
+    @Override
+    public synchronized void command(int command, int... params) {
+        if (commandBytes.length < params.length + 1) {
+            commandBytes = new byte[params.length + 1];
+        }
+        commandBytes[0] = (byte) command;
+        for (int i = 0; i < params.length; i++) {
+            commandBytes[i + 1] = (byte) params[i];
+        }
+
+        setDataMode(false);
+        write(commandBytes, 0, params.length + 1);
+    }
+
+    @Override
+    public synchronized void command(int command) {
+        commandBytes[0] = (byte) command;
+        setDataMode(false);
+        write(commandBytes, 0, 1);
+    }
+
+    @Override
+    public synchronized void command(int command, int param) {
+        commandBytes[0] = (byte) command;
+        commandBytes[1] = (byte) param;
+        setDataMode(false);
+        write(commandBytes, 0, 2);
+    }
+
+    @Override
+    public synchronized void command(int command, int param1, int param2) {
+        commandBytes[0] = (byte) command;
+        commandBytes[1] = (byte) param1;
+        commandBytes[2] = (byte) param2;
+        setDataMode(false);
+        write(commandBytes, 0, 3);
+    }
+
+    @Override
+    public void data(byte[] data) {
+        data(data, 0, data.length);
+    }
+
+    @Override
+    public synchronized void data(byte[] data, int start, int len) {
+        setDataMode(true);
+        write(data, start, len);
+    }
+
+    /**
+     * consecutive commands are sent with one write, data segments with one write each
+     */
+    @Override
+    public synchronized void execute(DisplayTransaction transaction) {
+        int i = 0;
+        while (i < transaction.getSegmentCount()) {
+            if (transaction.isCommand(i)) {
+                // command bytes of consecutive commands are contiguous
+                int start = transaction.getSegmentStart(i);
+                int len = 0;
+                while (i < transaction.getSegmentCount() && transaction.isCommand(i)) {
+                    len += transaction.getSegmentLength(i);
+                    i++;
+                }
+                setDataMode(false);
+                write(transaction.getCommandBytes(), start, len);
+            } else {
+                data(transaction.getSegmentData(i), transaction.getSegmentStart(i), transaction.getSegmentLength(i));
+                i++;
+            }
+        }
+    }
+
+    /**
+     * sets the D/C pin - only toggled if the mode changes
+     *
+     * @param data true for data, false for command mode
+     */
+    private void setDataMode(boolean data) {
+        int state = data ? DC_DATA : DC_COMMAND;
+        if (dcState != state) {
+            dcOutputPin.setState(data);
+            dcState = state;
+            gpioToggles++;
+        }
+    }
+
+    private void write(byte[] bytes, int start, int len) {
+        try {
+            spi.write(bytes, start, len);
+            spiWrites++;
+        } catch(IOException e) {
+            writeErrors++;
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return number of D/C pin changes
+     */
+    public synchronized long getGpioToggles() {
+        return gpioToggles;
+    }
+
+    /**
+     * @return number of SPI writes
+     */
+    public synchronized long getSpiWrites() {
+        return spiWrites;
+    }
+
+    public synchronized void resetCounters() {
+        gpioToggles = 0;
+        spiWrites = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayConnectionSPI{" +
+                "spiChannel=" + spiChannel +
+                ", spiSpeed=" + spiSpeed +
+                ", rstPin=" + rstPin +
+                ", dcPin=" + dcPin +
+                ", gpioToggles=" + gpioToggles +
+                ", spiWrites=" + spiWrites +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.display4j.core.conn.pi4j;
+
+import com.github.display4j.core.conn.I2CMultiplexer;
+import com.pi4j.io.i2c.I2CDevice;
+import com.pi4j.io.i2c.I2CFactory;
+
+import java.io.IOException;
+
+/**
+ * TCA9548A / PCA9548A 8 channel I2C multiplexer - the control register holds one enable bit per channel
+ */
+public class TCA9548A extends I2CMultiplexer {
+    public static final int CHANNEL_COUNT = 8;
+
+    public static final int DEFAULT_I2C_ADDRESS = 0x70;
+
+    private final I2CDevice i2c;
+
+    public TCA9548A() throws IOException {
+        this(DisplayConnectionI2C.DEFAULT_I2C_BUS_ID, DEFAULT_I2C_ADDRESS);
+    }
+
+    public TCA9548A(int i2cBusId, int i2cAddress) throws IOException {
+        super(CHANNEL_COUNT);
+        try {
+            i2c = I2CFactory.getInstance(i2cBusId).getDevice(i2cAddress);
+        } catch (I2CFactory.UnsupportedBusNumberException e) {
+            // rethrow as IOException
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    protected void writeChannelMask(int mask) throws IOException {
+        i2c.write((byte) mask);
+    }
+}